@@ -1,11 +1,16 @@
 package com.eventbooking.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 
 @Configuration
 @EnableAsync
@@ -25,6 +30,64 @@ public class AsyncConfig {
         return executor;
     }
 
+    // "platform": bounded pool as before. "virtual": one virtual thread per booking task.
+    // Either way at most booking.executor.db-permits tasks run at once, so the JDBC pool is not overrun.
+    @Bean(name = "bookingExecutor")
+    public Executor bookingExecutor(@Value("${booking.executor.mode:platform}") String mode,
+                                    @Value("${booking.executor.db-permits:20}") int dbPermits) {
+        TaskExecutor delegate;
+        if ("virtual".equalsIgnoreCase(mode)) {
+            delegate = new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+        } else {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(dbPermits);
+            executor.setMaxPoolSize(dbPermits);
+            executor.setThreadNamePrefix("BookingThread-");
+            executor.setWaitForTasksToCompleteOnShutdown(true);
+            executor.setAwaitTerminationSeconds(60);
+            executor.initialize();
+            delegate = executor;
+        }
+
+        Semaphore permits = new Semaphore(dbPermits);
+        return task -> delegate.execute(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Booking task interrupted");
+            }
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    @Bean(name = "pipelineExecutor")
+    public Executor pipelineExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(8);
+        executor.setThreadNamePrefix("ReservationWriter-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // Sends availability stream messages so slow clients never hold up the @Scheduled pool.
+    @Bean(name = "streamExecutor")
+    public Executor streamExecutor(@Value("${booking.availability-stream.sender-threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("AvailabilityStream-");
+        executor.initialize();
+        return executor;
+    }
+
     @Bean(name = "cleanupExecutor")
     public Executor cleanupExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
@@ -1,15 +1,29 @@
 package com.eventbooking.controller;
 
 import com.eventbooking.dto.EventDTO;
+import com.eventbooking.dto.HeldTicketsCheckDTO;
+import com.eventbooking.dto.InventoryReconciliationDTO;
+import com.eventbooking.dto.SeatSectionDTO;
 import com.eventbooking.dto.UpdateEventDTO;
 import com.eventbooking.service.EventMapper;
+import com.eventbooking.service.AdmissionService;
+import com.eventbooking.service.AvailabilityStreamService;
+import com.eventbooking.service.EventCatalogCache;
+import com.eventbooking.service.EventSearchIndex;
 import com.eventbooking.service.EventService;
+import com.eventbooking.service.HeldTicketsChecker;
+import com.eventbooking.service.InventoryService;
+import com.eventbooking.service.LoadShedder;
+import com.eventbooking.service.OutboxService;
+import com.eventbooking.service.SeatMapService;
+import com.eventbooking.util.StripedLock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -24,6 +38,36 @@ public class AdminController {
     @Autowired
     private EventMapper eventMapper;
 
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private AdmissionService admissionService;
+
+    @Autowired
+    private HeldTicketsChecker heldTicketsChecker;
+
+    @Autowired
+    private StripedLock eventLocks;
+
+    @Autowired
+    private SeatMapService seatMapService;
+
+    @Autowired
+    private LoadShedder loadShedder;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private EventCatalogCache eventCatalogCache;
+
+    @Autowired
+    private EventSearchIndex eventSearchIndex;
+
+    @Autowired
+    private AvailabilityStreamService availabilityStreamService;
+
     @PutMapping("/events/{eventId}")
     public ResponseEntity<?> updateEvent(@PathVariable Long eventId, @RequestBody UpdateEventDTO updateEventDTO) {
         try {
@@ -58,4 +102,113 @@ public class AdminController {
             return ResponseEntity.badRequest().body(errorResponse);
         }
     }
+
+    @PutMapping("/events/{eventId}/seat-layout")
+    public ResponseEntity<?> configureSeatLayout(@PathVariable Long eventId, @RequestBody List<SeatSectionDTO> sections) {
+        try {
+            return ResponseEntity.ok(seatMapService.configureLayout(eventId, sections));
+        } catch (RuntimeException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+
+    @GetMapping("/inventory/reconciliation")
+    public ResponseEntity<?> getInventoryReconciliation() {
+        InventoryReconciliationDTO report = inventoryService.getLastReport();
+        if (report == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(report);
+    }
+
+    @PostMapping("/inventory/reconciliation")
+    public ResponseEntity<?> runInventoryReconciliation() {
+        return ResponseEntity.ok(inventoryService.reconcile());
+    }
+
+    @GetMapping("/inventory/held-tickets")
+    public ResponseEntity<?> getHeldTicketsCheck() {
+        HeldTicketsCheckDTO report = heldTicketsChecker.getLastReport();
+        if (report == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(report);
+    }
+
+    @PostMapping("/inventory/held-tickets")
+    public ResponseEntity<?> runHeldTicketsCheck(@RequestParam(defaultValue = "false") boolean repair) {
+        return ResponseEntity.ok(heldTicketsChecker.check(repair));
+    }
+
+    @GetMapping("/locks")
+    public ResponseEntity<?> getEventLockStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("stripes", eventLocks.getStripeCount());
+        response.put("usedStripes", eventLocks.getStats());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/load-shedding")
+    public ResponseEntity<?> getLoadSheddingStats() {
+        return ResponseEntity.ok(loadShedder.getStats());
+    }
+
+    @GetMapping("/outbox")
+    public ResponseEntity<?> getOutboxStats() {
+        return ResponseEntity.ok(outboxService.getStats());
+    }
+
+    @GetMapping("/catalog-cache")
+    public ResponseEntity<?> getCatalogCacheStats() {
+        return ResponseEntity.ok(eventCatalogCache.getStats());
+    }
+
+    @GetMapping("/availability-streams")
+    public ResponseEntity<?> getAvailabilityStreamStats() {
+        return ResponseEntity.ok(availabilityStreamService.getStats());
+    }
+
+    @GetMapping("/search-index")
+    public ResponseEntity<?> getSearchIndexStats() {
+        return ResponseEntity.ok(eventSearchIndex.getStats());
+    }
+
+    // For catalog changes made outside the application, e.g. by SQL.
+    @DeleteMapping("/catalog-cache")
+    public ResponseEntity<?> clearCatalogCache() {
+        eventCatalogCache.invalidateAll();
+        return ResponseEntity.ok(eventCatalogCache.getStats());
+    }
+
+    @PutMapping("/events/{eventId}/admission")
+    public ResponseEntity<?> configureAdmission(@PathVariable Long eventId, @RequestBody Map<String, Object> request) {
+        try {
+            eventService.getEventById(eventId)
+                    .orElseThrow(() -> new RuntimeException("Event not found with id: " + eventId));
+
+            boolean enabled = Boolean.parseBoolean(String.valueOf(request.get("enabled")));
+            double ratePerSecond = request.get("ratePerSecond") != null
+                    ? Double.parseDouble(request.get("ratePerSecond").toString())
+                    : 0;
+            admissionService.configure(eventId, enabled, ratePerSecond);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", enabled ? "Waiting room enabled" : "Waiting room disabled");
+            response.put("eventId", eventId);
+            response.put("ratePerSecond", ratePerSecond);
+
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+
+    @GetMapping("/admission")
+    public ResponseEntity<?> getAdmissionRooms() {
+        return ResponseEntity.ok(admissionService.getRooms());
+    }
 }
\ No newline at end of file
@@ -1,13 +1,22 @@
 package com.eventbooking.controller;
 
+import com.eventbooking.dto.BatchReservationResultDTO;
 import com.eventbooking.dto.BookingDTO;
 import com.eventbooking.dto.ReservationDTO;
 import com.eventbooking.entity.Booking;
 import com.eventbooking.entity.BookingStatus;
 import com.eventbooking.entity.User;
+import com.eventbooking.exception.AdmissionRequiredException;
+import com.eventbooking.exception.ServiceBusyException;
+import com.eventbooking.exception.TooManyRequestsException;
+import com.eventbooking.service.AdmissionService;
 import com.eventbooking.service.BookingService;
 import com.eventbooking.service.UserService;
+import com.eventbooking.service.WaitlistService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -18,7 +27,13 @@ import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RestController
@@ -33,6 +48,18 @@ public class BookingController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AdmissionService admissionService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Value("${booking.request.timeout-seconds:30}")
+    private long requestTimeoutSeconds;
+
+    @Value("${booking.batch.max-lines:500}")
+    private int maxBatchLines;
+
     @GetMapping("/user")
     public ResponseEntity<?> getUserBookings() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -53,7 +80,7 @@ public class BookingController {
     }
 
     @PostMapping("/reserve")
-    public ResponseEntity<?> reserveTickets(@RequestBody Map<String, Object> reservationRequest) {
+    public CompletableFuture<ResponseEntity<?>> reserveTickets(@RequestBody Map<String, Object> reservationRequest) {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             String username = authentication.getName();
@@ -63,62 +90,229 @@ public class BookingController {
 
             Long eventId = Long.valueOf(reservationRequest.get("eventId").toString());
             Integer ticketCount = Integer.valueOf(reservationRequest.get("ticketCount").toString());
+            Long admissionToken = reservationRequest.get("admissionToken") != null
+                    ? Long.valueOf(reservationRequest.get("admissionToken").toString())
+                    : null;
+
+            return reserveAdmitted(eventId, user.getId(), admissionToken, () -> bookingService.reserveTickets(user.getId(), eventId, ticketCount))
+                    .<ResponseEntity<?>>thenApply(reservation -> {
+                        Map<String, Object> response = new HashMap<>();
+                        response.put("reservationId", reservation.getReservationId());
+                        response.put("message", "Tickets reserved successfully");
+                        response.put("bookingReference", reservation.getBookingReference());
+                        response.put("expiresInSeconds", reservation.getSecondsRemaining());
+                        response.put("reservationExpiry", reservation.getReservationExpiry());
+                        return ResponseEntity.ok(response);
+                    })
+                    .exceptionally(this::createErrorResponseEntity);
 
-            ReservationDTO reservation = bookingService.reserveTickets(user.getId(), eventId, ticketCount)
-                    .get(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(createErrorResponseEntity(e));
+        }
+    }
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("reservationId", reservation.getReservationId());
-            response.put("message", "Tickets reserved successfully");
-            response.put("bookingReference", reservation.getBookingReference());
-            response.put("expiresInSeconds", reservation.getSecondsRemaining());
-            response.put("reservationExpiry", reservation.getReservationExpiry());
+    @PostMapping("/reserve/seats")
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<ResponseEntity<?>> reserveSeats(@RequestBody Map<String, Object> reservationRequest) {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            String username = authentication.getName();
 
-            return ResponseEntity.ok(response);
+            User user = userService.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            Long eventId = Long.valueOf(reservationRequest.get("eventId").toString());
+            List<String> seats = reservationRequest.get("seats") instanceof List
+                    ? ((List<Object>) reservationRequest.get("seats")).stream().map(String::valueOf).collect(Collectors.toList())
+                    : null;
+            Integer ticketCount = reservationRequest.get("ticketCount") != null
+                    ? Integer.valueOf(reservationRequest.get("ticketCount").toString())
+                    : null;
+            if ((seats == null || seats.isEmpty()) && (ticketCount == null || ticketCount <= 0)) {
+                throw new RuntimeException("Either seats or a positive ticketCount is required");
+            }
+            Long admissionToken = reservationRequest.get("admissionToken") != null
+                    ? Long.valueOf(reservationRequest.get("admissionToken").toString())
+                    : null;
+
+            return reserveAdmitted(eventId, user.getId(), admissionToken, () -> bookingService.reserveSeats(user.getId(), eventId, seats, ticketCount))
+                    .<ResponseEntity<?>>thenApply(reservation -> {
+                        Map<String, Object> response = new HashMap<>();
+                        response.put("reservationId", reservation.getReservationId());
+                        response.put("message", "Seats reserved successfully");
+                        response.put("bookingReference", reservation.getBookingReference());
+                        response.put("seats", reservation.getSeats());
+                        response.put("expiresInSeconds", reservation.getSecondsRemaining());
+                        response.put("reservationExpiry", reservation.getReservationExpiry());
+                        return ResponseEntity.ok(response);
+                    })
+                    .exceptionally(this::createErrorResponseEntity);
 
         } catch (Exception e) {
-            Map<String, Object> errorResponse = createErrorResponse(e.getMessage());
-            return ResponseEntity.badRequest().body(errorResponse);
+            return CompletableFuture.completedFuture(createErrorResponseEntity(e));
         }
     }
 
-    @PostMapping("/reservations/{reservationId}/confirm")
-    public ResponseEntity<?> confirmReservation(@PathVariable Long reservationId) {
+    @PostMapping("/reserve/batch")
+    public CompletableFuture<ResponseEntity<?>> reserveTicketsBatch(@RequestBody List<Map<String, Object>> lines) {
         try {
+            if (lines.isEmpty() || lines.size() > maxBatchLines) {
+                throw new RuntimeException("A batch must contain between 1 and " + maxBatchLines + " lines");
+            }
 
-            BookingDTO booking = bookingService.confirmReservation(reservationId)
-                    .get(30, TimeUnit.SECONDS);
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            String username = authentication.getName();
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("message", "Booking confirmed successfully");
-            response.put("booking", booking);
+            User user = userService.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
 
-            return ResponseEntity.ok(response);
+            List<BookingService.ReservationRequest> requests = lines.stream()
+                    .map(line -> new BookingService.ReservationRequest(
+                            user.getId(),
+                            line.get("eventId") != null ? Long.valueOf(line.get("eventId").toString()) : null,
+                            line.get("ticketCount") != null ? Integer.valueOf(line.get("ticketCount").toString()) : null))
+                    .collect(Collectors.toList());
+
+            for (BookingService.ReservationRequest request : requests) {
+                if (request.getEventId() != null && admissionService.isEnabled(request.getEventId())) {
+                    throw new AdmissionRequiredException("Event " + request.getEventId()
+                            + " has a waiting room and cannot be reserved in a batch");
+                }
+            }
+
+            return bookingService.bulkReserveTickets(requests)
+                    .orTimeout(requestTimeoutSeconds, TimeUnit.SECONDS)
+                    .<ResponseEntity<?>>thenApply(results -> {
+                        long reserved = results.stream().filter(BatchReservationResultDTO::isSuccess).count();
+
+                        Map<String, Object> response = new HashMap<>();
+                        response.put("reserved", reserved);
+                        response.put("failed", results.size() - reserved);
+                        response.put("results", results);
+                        return ResponseEntity.ok(response);
+                    })
+                    .exceptionally(this::createErrorResponseEntity);
 
         } catch (Exception e) {
-            Map<String, Object> errorResponse = createErrorResponse(e.getMessage());
-            return ResponseEntity.badRequest().body(errorResponse);
+            return CompletableFuture.completedFuture(createErrorResponseEntity(e));
         }
     }
 
-    @DeleteMapping("/reservations/{reservationId}")
-    public ResponseEntity<?> cancelReservation(@PathVariable Long reservationId) {
+    @PostMapping("/admission/{eventId}")
+    public ResponseEntity<?> joinWaitingRoom(@PathVariable Long eventId) {
         try {
-            bookingService.cancelReservation(reservationId)
-                    .get(30, TimeUnit.SECONDS);
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            String username = authentication.getName();
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("message", "Reservation cancelled successfully");
-            response.put("reservationId", reservationId);
+            User user = userService.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
 
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(admissionService.join(eventId, user.getId()));
 
         } catch (Exception e) {
-            Map<String, Object> errorResponse = createErrorResponse(e.getMessage());
-            return ResponseEntity.badRequest().body(errorResponse);
+            return createErrorResponseEntity(e);
+        }
+    }
+
+    @PostMapping("/waitlist/{eventId}")
+    public ResponseEntity<?> joinWaitlist(@PathVariable Long eventId, @RequestBody Map<String, Object> request) {
+        try {
+            User user = getCurrentUser();
+            int ticketCount = Integer.parseInt(request.get("ticketCount").toString());
+            return ResponseEntity.ok(waitlistService.join(eventId, user.getId(), ticketCount));
+        } catch (Exception e) {
+            return createErrorResponseEntity(e);
         }
     }
 
+    @GetMapping("/waitlist/{eventId}")
+    public ResponseEntity<?> getWaitlistStatus(@PathVariable Long eventId) {
+        try {
+            User user = getCurrentUser();
+            return ResponseEntity.ok(waitlistService.getStatus(eventId, user.getId()));
+        } catch (Exception e) {
+            return createErrorResponseEntity(e);
+        }
+    }
+
+    @DeleteMapping("/waitlist/{eventId}")
+    public ResponseEntity<?> leaveWaitlist(@PathVariable Long eventId) {
+        try {
+            User user = getCurrentUser();
+            if (!waitlistService.leave(eventId, user.getId())) {
+                return ResponseEntity.badRequest().body(createErrorResponse("Not on the waitlist for this event"));
+            }
+            return ResponseEntity.ok(Map.of("message", "Left the waitlist"));
+        } catch (Exception e) {
+            return createErrorResponseEntity(e);
+        }
+    }
+
+    // Consumes the waiting-room token for the reservation and hands it back only when the failure proves
+    // nothing was reserved (shed, rejected, lock busy, or thrown before submission). A timeout does not:
+    // the reservation may still commit after the response has gone out.
+    private <T> CompletableFuture<T> reserveAdmitted(Long eventId, Long userId, Long admissionToken,
+                                                     Supplier<CompletableFuture<T>> reservation) {
+        admissionService.admit(eventId, userId, admissionToken);
+        CompletableFuture<T> future;
+        try {
+            future = reservation.get();
+        } catch (RuntimeException e) {
+            admissionService.restore(eventId, userId, admissionToken);
+            throw e;
+        }
+        return future
+                .whenComplete((result, error) -> {
+                    if (error != null && isNotReserved(error)) {
+                        admissionService.restore(eventId, userId, admissionToken);
+                    }
+                })
+                .orTimeout(requestTimeoutSeconds, TimeUnit.SECONDS);
+    }
+
+    private static boolean isNotReserved(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof TooManyRequestsException
+                || cause instanceof RejectedExecutionException
+                || cause instanceof ServiceBusyException;
+    }
+
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return userService.findByUsername(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    @PostMapping("/reservations/{reservationId}/confirm")
+    public CompletableFuture<ResponseEntity<?>> confirmReservation(@PathVariable Long reservationId) {
+        return bookingService.confirmReservation(reservationId)
+                .orTimeout(requestTimeoutSeconds, TimeUnit.SECONDS)
+                .<ResponseEntity<?>>thenApply(booking -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("message", "Booking confirmed successfully");
+                    response.put("booking", booking);
+                    return ResponseEntity.ok(response);
+                })
+                .exceptionally(this::createErrorResponseEntity);
+    }
+
+    @DeleteMapping("/reservations/{reservationId}")
+    public CompletableFuture<ResponseEntity<?>> cancelReservation(@PathVariable Long reservationId) {
+        return bookingService.cancelReservation(reservationId)
+                .orTimeout(requestTimeoutSeconds, TimeUnit.SECONDS)
+                .<ResponseEntity<?>>thenApply(result -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("message", "Reservation cancelled successfully");
+                    response.put("reservationId", reservationId);
+                    return ResponseEntity.ok(response);
+                })
+                .exceptionally(this::createErrorResponseEntity);
+    }
+
     @GetMapping("/reservations/{reservationId}")
     public ResponseEntity<?> getReservation(@PathVariable Long reservationId) {
         try {
@@ -139,7 +333,7 @@ public class BookingController {
     }
 
     @DeleteMapping("/{bookingId}")
-    public ResponseEntity<?> cancelBooking(@PathVariable Long bookingId) {
+    public CompletableFuture<ResponseEntity<?>> cancelBooking(@PathVariable Long bookingId) {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             String username = authentication.getName();
@@ -154,19 +348,20 @@ public class BookingController {
                 throw new RuntimeException("You can only cancel your own bookings");
             }
 
-            bookingService.cancelBooking(bookingId)
-                    .get(30, TimeUnit.SECONDS);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("message", "Booking cancelled successfully");
-            response.put("bookingId", bookingId);
-            response.put("ticketsReturned", booking.getTicketCount());
-
-            return ResponseEntity.ok(response);
+            Integer ticketsReturned = booking.getTicketCount();
+            return bookingService.cancelBooking(bookingId)
+                    .orTimeout(requestTimeoutSeconds, TimeUnit.SECONDS)
+                    .<ResponseEntity<?>>thenApply(result -> {
+                        Map<String, Object> response = new HashMap<>();
+                        response.put("message", "Booking cancelled successfully");
+                        response.put("bookingId", bookingId);
+                        response.put("ticketsReturned", ticketsReturned);
+                        return ResponseEntity.ok(response);
+                    })
+                    .exceptionally(this::createErrorResponseEntity);
 
         } catch (Exception e) {
-            Map<String, Object> errorResponse = createErrorResponse(e.getMessage());
-            return ResponseEntity.badRequest().body(errorResponse);
+            return CompletableFuture.completedFuture(createErrorResponseEntity(e));
         }
     }
 
@@ -197,6 +392,34 @@ public class BookingController {
         }
     }
 
+    private ResponseEntity<?> createErrorResponseEntity(Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+
+        if (cause instanceof TimeoutException) {
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                    .body(createErrorResponse("Request timed out. Please try again."));
+        }
+        if (cause instanceof TooManyRequestsException) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER,
+                            String.valueOf(((TooManyRequestsException) cause).getRetryAfterSeconds()))
+                    .body(createErrorResponse(cause.getMessage()));
+        }
+        if (cause instanceof AdmissionRequiredException) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(createErrorResponse(cause.getMessage()));
+        }
+        if (cause instanceof ServiceBusyException || cause instanceof RejectedExecutionException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(createErrorResponse(cause.getMessage()));
+        }
+        return ResponseEntity.badRequest().body(createErrorResponse(cause.getMessage()));
+    }
+
     private Map<String, Object> createErrorResponse(String message) {
         Map<String, Object> errorResponse = new HashMap<>();
         errorResponse.put("error", true);
@@ -1,17 +1,33 @@
 package com.eventbooking.controller;
 
+import com.eventbooking.dto.AdmissionStatusDTO;
 import com.eventbooking.dto.EventDTO;
+import com.eventbooking.dto.SeatMapDTO;
+import com.eventbooking.exception.ServiceBusyException;
 import com.eventbooking.entity.Event;
+import com.eventbooking.service.AdmissionService;
+import com.eventbooking.service.AvailabilityStreamService;
+import com.eventbooking.service.EventCatalogCache;
+import com.eventbooking.service.EventCategoryView;
+import com.eventbooking.service.EventSearchIndex;
 import com.eventbooking.service.EventService;
-import com.eventbooking.service.EventMapper;
+import com.eventbooking.service.SeatMapService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/events")
@@ -22,23 +38,131 @@ public class EventController {
     private EventService eventService;
 
     @Autowired
-    private EventMapper eventMapper;
+    private EventCatalogCache eventCatalogCache;
 
+    @Autowired
+    private EventSearchIndex eventSearchIndex;
+
+    @Autowired
+    private EventCategoryView eventCategoryView;
+
+    @Autowired
+    private AvailabilityStreamService availabilityStreamService;
+
+    @Value("${booking.http.cache-control.event-list:no-cache}")
+    private String eventListCacheControl;
+
+    @Value("${booking.http.cache-control.event-detail:no-cache}")
+    private String eventDetailCacheControl;
+
+    @Autowired
+    private AdmissionService admissionService;
+
+    @Autowired
+    private SeatMapService seatMapService;
+
+    // A matching If-None-Match is answered from the catalog version before the listing is even looked
+    // at; otherwise Spring compares the ETag of the 200 response and still sends 304 if it matches.
     @GetMapping
-    public ResponseEntity<List<EventDTO>> getAllEvents() {
-        List<EventDTO> events = eventService.getAllEvents().stream()
-                .map(eventMapper::toEventDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(events);
+    public ResponseEntity<List<EventDTO>> getAllEvents(WebRequest request) {
+        String currentETag = eventCatalogCache.getListingETag();
+        if (currentETag != null && request.checkNotModified(currentETag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(currentETag)
+                    .header(HttpHeaders.CACHE_CONTROL, eventListCacheControl)
+                    .build();
+        }
+        EventCatalogCache.CachedValue<List<EventDTO>> events = eventCatalogCache.getAllEventsTagged();
+        return ResponseEntity.ok()
+                .eTag(events.getETag())
+                .header(HttpHeaders.CACHE_CONTROL, eventListCacheControl)
+                .body(events.getValue());
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<?> getEventPage(@RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "20") int size,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                          @RequestParam(required = false) String category,
+                                          @RequestParam(required = false) BigDecimal minPrice,
+                                          @RequestParam(required = false) BigDecimal maxPrice,
+                                          @RequestParam(defaultValue = "false") boolean available) {
+        try {
+            return ResponseEntity.ok(eventService.getEventPage(cursor, size, from, to, category, minPrice, maxPrice, available));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<?> searchEvents(@RequestParam("q") String query,
+                                          @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(eventSearchIndex.search(query, limit));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @GetMapping("/category/{category}")
+    public ResponseEntity<?> getEventsByCategory(@PathVariable String category,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(eventCategoryView.getPage(category, cursor, size));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<EventDTO> getEventById(@PathVariable Long id) {
-        Optional<Event> event = eventService.getEventById(id);
-        return event.map(e -> ResponseEntity.ok(eventMapper.toEventDTO(e)))
+        return eventCatalogCache.getEventTagged(id)
+                .map(event -> ResponseEntity.ok()
+                        .eTag(event.getETag())
+                        .header(HttpHeaders.CACHE_CONTROL, eventDetailCacheControl)
+                        .body(event.getValue()))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/seats")
+    public ResponseEntity<SeatMapDTO> getSeatMap(@PathVariable Long id) {
+        if (!seatMapService.hasSeatMap(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(seatMapService.getSeatMap(id));
+    }
+
+    // Declared as ResponseEntity<SseEmitter> so Spring streams the emitter; errors take a body-less path
+    // because an EventSource client only accepts text/event-stream.
+    @GetMapping("/{id}/availability/stream")
+    public ResponseEntity<SseEmitter> streamAvailability(@PathVariable Long id) {
+        if (eventCatalogCache.getEvent(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(availabilityStreamService.subscribe(id));
+    }
+
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<Void> handleServiceBusy(ServiceBusyException e) {
+        System.err.println(e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .build();
+    }
+
+    @GetMapping("/{id}/admission/{token}")
+    public ResponseEntity<AdmissionStatusDTO> getAdmissionStatus(@PathVariable Long id, @PathVariable Long token) {
+        return ResponseEntity.ok(admissionService.getStatus(id, token));
+    }
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Event> createEvent(@RequestBody Event event) {
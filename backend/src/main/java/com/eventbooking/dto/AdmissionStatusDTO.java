@@ -0,0 +1,34 @@
+package com.eventbooking.dto;
+
+public class AdmissionStatusDTO {
+    private Long eventId;
+    private Long token;
+    private long position;
+    private boolean admitted;
+    private long estimatedWaitSeconds;
+
+    public AdmissionStatusDTO() {}
+
+    public AdmissionStatusDTO(Long eventId, Long token, long position, boolean admitted, long estimatedWaitSeconds) {
+        this.eventId = eventId;
+        this.token = token;
+        this.position = position;
+        this.admitted = admitted;
+        this.estimatedWaitSeconds = estimatedWaitSeconds;
+    }
+
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+
+    public Long getToken() { return token; }
+    public void setToken(Long token) { this.token = token; }
+
+    public long getPosition() { return position; }
+    public void setPosition(long position) { this.position = position; }
+
+    public boolean isAdmitted() { return admitted; }
+    public void setAdmitted(boolean admitted) { this.admitted = admitted; }
+
+    public long getEstimatedWaitSeconds() { return estimatedWaitSeconds; }
+    public void setEstimatedWaitSeconds(long estimatedWaitSeconds) { this.estimatedWaitSeconds = estimatedWaitSeconds; }
+}
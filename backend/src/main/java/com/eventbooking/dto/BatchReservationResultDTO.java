@@ -0,0 +1,36 @@
+package com.eventbooking.dto;
+
+public class BatchReservationResultDTO {
+    private int line;
+    private Long eventId;
+    private Integer ticketCount;
+    private boolean success;
+    private ReservationDTO reservation;
+    private String error;
+
+    public BatchReservationResultDTO() {}
+
+    public BatchReservationResultDTO(int line, Long eventId, Integer ticketCount) {
+        this.line = line;
+        this.eventId = eventId;
+        this.ticketCount = ticketCount;
+    }
+
+    public int getLine() { return line; }
+    public void setLine(int line) { this.line = line; }
+
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+
+    public Integer getTicketCount() { return ticketCount; }
+    public void setTicketCount(Integer ticketCount) { this.ticketCount = ticketCount; }
+
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+
+    public ReservationDTO getReservation() { return reservation; }
+    public void setReservation(ReservationDTO reservation) { this.reservation = reservation; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
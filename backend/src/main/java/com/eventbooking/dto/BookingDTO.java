@@ -3,6 +3,7 @@ package com.eventbooking.dto;
 import com.eventbooking.entity.BookingStatus;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class BookingDTO {
     private Long id;
@@ -13,6 +14,7 @@ public class BookingDTO {
     private String bookingReference;
     private UserDTO user;
     private EventDTO event;
+    private List<String> seats;
 
     public BookingDTO() {}
 
@@ -52,4 +54,7 @@ public class BookingDTO {
 
     public EventDTO getEvent() { return event; }
     public void setEvent(EventDTO event) { this.event=event;}
+
+    public List<String> getSeats() { return seats; }
+    public void setSeats(List<String> seats) { this.seats = seats; }
 }
@@ -0,0 +1,48 @@
+package com.eventbooking.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class CategoryPageDTO {
+    private String category;
+    private int size;
+    private int total;
+    private List<EventDTO> events;
+    private String nextCursor;
+    private boolean hasMore;
+    private Map<String, Integer> counts;
+
+    public CategoryPageDTO() {}
+
+    public CategoryPageDTO(String category, int size, int total, List<EventDTO> events, String nextCursor,
+                           boolean hasMore, Map<String, Integer> counts) {
+        this.category = category;
+        this.size = size;
+        this.total = total;
+        this.events = events;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.counts = counts;
+    }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+
+    public List<EventDTO> getEvents() { return events; }
+    public void setEvents(List<EventDTO> events) { this.events = events; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    public Map<String, Integer> getCounts() { return counts; }
+    public void setCounts(Map<String, Integer> counts) { this.counts = counts; }
+}
@@ -0,0 +1,26 @@
+package com.eventbooking.dto;
+
+import java.util.List;
+
+public class EventPageDTO {
+    private List<EventDTO> events;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public EventPageDTO() {}
+
+    public EventPageDTO(List<EventDTO> events, String nextCursor, boolean hasMore) {
+        this.events = events;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<EventDTO> getEvents() { return events; }
+    public void setEvents(List<EventDTO> events) { this.events = events; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,26 @@
+package com.eventbooking.dto;
+
+import java.util.List;
+
+public class EventSearchResultDTO {
+    private String query;
+    private int total;
+    private List<EventDTO> events;
+
+    public EventSearchResultDTO() {}
+
+    public EventSearchResultDTO(String query, int total, List<EventDTO> events) {
+        this.query = query;
+        this.total = total;
+        this.events = events;
+    }
+
+    public String getQuery() { return query; }
+    public void setQuery(String query) { this.query = query; }
+
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+
+    public List<EventDTO> getEvents() { return events; }
+    public void setEvents(List<EventDTO> events) { this.events = events; }
+}
@@ -0,0 +1,62 @@
+package com.eventbooking.dto;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public class HeldTicketsCheckDTO {
+    private Instant checkedAt;
+    private long durationMs;
+    private int eventsMismatched;
+    private int eventsRepaired;
+    private List<EventMismatch> mismatches = new ArrayList<>();
+
+    public HeldTicketsCheckDTO() {}
+
+    public HeldTicketsCheckDTO(Instant checkedAt) {
+        this.checkedAt = checkedAt;
+    }
+
+    public Instant getCheckedAt() { return checkedAt; }
+    public void setCheckedAt(Instant checkedAt) { this.checkedAt = checkedAt; }
+
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+
+    public int getEventsMismatched() { return eventsMismatched; }
+    public void setEventsMismatched(int eventsMismatched) { this.eventsMismatched = eventsMismatched; }
+
+    public int getEventsRepaired() { return eventsRepaired; }
+    public void setEventsRepaired(int eventsRepaired) { this.eventsRepaired = eventsRepaired; }
+
+    public List<EventMismatch> getMismatches() { return mismatches; }
+    public void setMismatches(List<EventMismatch> mismatches) { this.mismatches = mismatches; }
+
+    public static class EventMismatch {
+        private Long eventId;
+        private int heldTickets;
+        private int pendingTickets;
+        private boolean repaired;
+
+        public EventMismatch() {}
+
+        public EventMismatch(Long eventId, int heldTickets, int pendingTickets, boolean repaired) {
+            this.eventId = eventId;
+            this.heldTickets = heldTickets;
+            this.pendingTickets = pendingTickets;
+            this.repaired = repaired;
+        }
+
+        public Long getEventId() { return eventId; }
+        public void setEventId(Long eventId) { this.eventId = eventId; }
+
+        public int getHeldTickets() { return heldTickets; }
+        public void setHeldTickets(int heldTickets) { this.heldTickets = heldTickets; }
+
+        public int getPendingTickets() { return pendingTickets; }
+        public void setPendingTickets(int pendingTickets) { this.pendingTickets = pendingTickets; }
+
+        public boolean isRepaired() { return repaired; }
+        public void setRepaired(boolean repaired) { this.repaired = repaired; }
+    }
+}
@@ -0,0 +1,77 @@
+package com.eventbooking.dto;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public class InventoryReconciliationDTO {
+    private Instant startedAt;
+    private long durationMs;
+    private int eventsChecked;
+    private int eventsDrifted;
+    private int eventsCorrected;
+    private List<EventDrift> drifts = new ArrayList<>();
+
+    public InventoryReconciliationDTO() {}
+
+    public InventoryReconciliationDTO(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getStartedAt() { return startedAt; }
+    public void setStartedAt(Instant startedAt) { this.startedAt = startedAt; }
+
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+
+    public int getEventsChecked() { return eventsChecked; }
+    public void setEventsChecked(int eventsChecked) { this.eventsChecked = eventsChecked; }
+
+    public int getEventsDrifted() { return eventsDrifted; }
+    public void setEventsDrifted(int eventsDrifted) { this.eventsDrifted = eventsDrifted; }
+
+    public int getEventsCorrected() { return eventsCorrected; }
+    public void setEventsCorrected(int eventsCorrected) { this.eventsCorrected = eventsCorrected; }
+
+    public List<EventDrift> getDrifts() { return drifts; }
+    public void setDrifts(List<EventDrift> drifts) { this.drifts = drifts; }
+
+    public static class EventDrift {
+        private Long eventId;
+        private int memoryAvailable;
+        private int databaseAvailable;
+        private int memoryHeld;
+        private int databaseHeld;
+        private boolean corrected;
+
+        public EventDrift() {}
+
+        public EventDrift(Long eventId, int memoryAvailable, int databaseAvailable,
+                          int memoryHeld, int databaseHeld, boolean corrected) {
+            this.eventId = eventId;
+            this.memoryAvailable = memoryAvailable;
+            this.databaseAvailable = databaseAvailable;
+            this.memoryHeld = memoryHeld;
+            this.databaseHeld = databaseHeld;
+            this.corrected = corrected;
+        }
+
+        public Long getEventId() { return eventId; }
+        public void setEventId(Long eventId) { this.eventId = eventId; }
+
+        public int getMemoryAvailable() { return memoryAvailable; }
+        public void setMemoryAvailable(int memoryAvailable) { this.memoryAvailable = memoryAvailable; }
+
+        public int getDatabaseAvailable() { return databaseAvailable; }
+        public void setDatabaseAvailable(int databaseAvailable) { this.databaseAvailable = databaseAvailable; }
+
+        public int getMemoryHeld() { return memoryHeld; }
+        public void setMemoryHeld(int memoryHeld) { this.memoryHeld = memoryHeld; }
+
+        public int getDatabaseHeld() { return databaseHeld; }
+        public void setDatabaseHeld(int databaseHeld) { this.databaseHeld = databaseHeld; }
+
+        public boolean isCorrected() { return corrected; }
+        public void setCorrected(boolean corrected) { this.corrected = corrected; }
+    }
+}
@@ -2,6 +2,7 @@ package com.eventbooking.dto;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 
 public class ReservationDTO {
     private Long reservationId;
@@ -11,6 +12,7 @@ public class ReservationDTO {
     private Instant reservationExpiry;
     private EventDTO event;
     private Integer secondsRemaining;
+    private List<String> seats;
 
     // Constructors
     public ReservationDTO() {}
@@ -46,4 +48,7 @@ public class ReservationDTO {
 
     public Integer getSecondsRemaining() { return secondsRemaining; }
     public void setSecondsRemaining(Integer secondsRemaining) { this.secondsRemaining = secondsRemaining; }
-}
\ No newline at end of file
+
+    public List<String> getSeats() { return seats; }
+    public void setSeats(List<String> seats) { this.seats = seats; }
+}
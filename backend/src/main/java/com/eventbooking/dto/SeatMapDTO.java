@@ -0,0 +1,50 @@
+package com.eventbooking.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SeatMapDTO {
+    private Long eventId;
+    private int totalSeats;
+    private int freeSeats;
+    private List<RowState> rows = new ArrayList<>();
+
+    public SeatMapDTO() {}
+
+    public SeatMapDTO(Long eventId, int totalSeats, int freeSeats) {
+        this.eventId = eventId;
+        this.totalSeats = totalSeats;
+        this.freeSeats = freeSeats;
+    }
+
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+
+    public int getTotalSeats() { return totalSeats; }
+    public void setTotalSeats(int totalSeats) { this.totalSeats = totalSeats; }
+
+    public int getFreeSeats() { return freeSeats; }
+    public void setFreeSeats(int freeSeats) { this.freeSeats = freeSeats; }
+
+    public List<RowState> getRows() { return rows; }
+    public void setRows(List<RowState> rows) { this.rows = rows; }
+
+    // seats has one character per seat: '.' free, 'H' held, 'X' sold.
+    public static class RowState {
+        private String row;
+        private String seats;
+
+        public RowState() {}
+
+        public RowState(String row, String seats) {
+            this.row = row;
+            this.seats = seats;
+        }
+
+        public String getRow() { return row; }
+        public void setRow(String row) { this.row = row; }
+
+        public String getSeats() { return seats; }
+        public void setSeats(String seats) { this.seats = seats; }
+    }
+}
@@ -0,0 +1,25 @@
+package com.eventbooking.dto;
+
+// One section of an admin seat layout request; the event id and order come from the request itself.
+public class SeatSectionDTO {
+    private String name;
+    private Integer rowCount;
+    private Integer seatsPerRow;
+
+    public SeatSectionDTO() {}
+
+    public SeatSectionDTO(String name, Integer rowCount, Integer seatsPerRow) {
+        this.name = name;
+        this.rowCount = rowCount;
+        this.seatsPerRow = seatsPerRow;
+    }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Integer getRowCount() { return rowCount; }
+    public void setRowCount(Integer rowCount) { this.rowCount = rowCount; }
+
+    public Integer getSeatsPerRow() { return seatsPerRow; }
+    public void setSeatsPerRow(Integer seatsPerRow) { this.seatsPerRow = seatsPerRow; }
+}
@@ -0,0 +1,34 @@
+package com.eventbooking.dto;
+
+public class WaitlistStatusDTO {
+    private Long eventId;
+    private Integer ticketCount;
+    private boolean waiting;
+    private int position;
+    private ReservationDTO reservation;
+
+    public WaitlistStatusDTO() {}
+
+    public WaitlistStatusDTO(Long eventId, Integer ticketCount, boolean waiting, int position) {
+        this.eventId = eventId;
+        this.ticketCount = ticketCount;
+        this.waiting = waiting;
+        this.position = position;
+    }
+
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+
+    public Integer getTicketCount() { return ticketCount; }
+    public void setTicketCount(Integer ticketCount) { this.ticketCount = ticketCount; }
+
+    public boolean isWaiting() { return waiting; }
+    public void setWaiting(boolean waiting) { this.waiting = waiting; }
+
+    public int getPosition() { return position; }
+    public void setPosition(int position) { this.position = position; }
+
+    // Set once the user has been promoted: the hold created for them, to be confirmed before it expires.
+    public ReservationDTO getReservation() { return reservation; }
+    public void setReservation(ReservationDTO reservation) { this.reservation = reservation; }
+}
@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 @Table(name = "bookings")
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "bookings_id_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -43,6 +44,10 @@ public class Booking {
     @Column(name = "is_reserved")
     private Boolean isReserved = false;
 
+    // Comma-separated seat indexes into the event's seat map; null for general admission.
+    @Column(name = "seat_numbers", columnDefinition = "TEXT")
+    private String seatNumbers;
+
     @PrePersist
     protected void onCreate() {
         bookingDate = LocalDateTime.now();
@@ -55,10 +60,6 @@ public class Booking {
             status = BookingStatus.PENDING;
         }
 
-        if (bookingReference == null) {
-            bookingReference = "BK" + System.currentTimeMillis();
-        }
-
         if (totalAmount == null && event != null && ticketCount != null) {
             this.totalAmount = event.getTicketPrice().multiply(BigDecimal.valueOf(ticketCount));
         }
@@ -162,6 +163,14 @@ public class Booking {
         this.isReserved = isReserved;
     }
 
+    public String getSeatNumbers() {
+        return seatNumbers;
+    }
+
+    public void setSeatNumbers(String seatNumbers) {
+        this.seatNumbers = seatNumbers;
+    }
+
     public boolean isReservationExpired() {
         return isReserved && reservationExpiry != null && Instant.now().isAfter(reservationExpiry);
     }
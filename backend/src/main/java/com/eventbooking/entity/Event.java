@@ -1,7 +1,9 @@
 package com.eventbooking.entity;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.ColumnDefault;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -12,7 +14,8 @@ import java.util.List;
 @Table(name = "events")
 public class Event {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_seq")
+    @SequenceGenerator(name = "event_seq", sequenceName = "events_id_seq", allocationSize = 50)
     private Long id;
 
     @Version
@@ -43,6 +46,11 @@ public class Event {
     @Column(name = "available_tickets")
     private Integer availableTickets;
 
+    @ColumnDefault("0")
+    @Column(name = "held_tickets", nullable = false, updatable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer heldTickets = 0;
+
     @NotNull
     private String category;
 
@@ -138,6 +146,14 @@ public class Event {
         this.availableTickets = availableTickets;
     }
 
+    public Integer getHeldTickets() {
+        return heldTickets;
+    }
+
+    public void setHeldTickets(Integer heldTickets) {
+        this.heldTickets = heldTickets;
+    }
+
     public String getCategory() {
         return category;
     }
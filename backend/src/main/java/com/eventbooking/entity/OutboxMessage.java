@@ -0,0 +1,154 @@
+package com.eventbooking.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+
+@Entity
+@Table(name = "outbox_messages")
+public class OutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_message_seq")
+    @SequenceGenerator(name = "outbox_message_seq", sequenceName = "outbox_messages_id_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    @Column(name = "message_type")
+    private String messageType;
+
+    @NotNull
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @NotNull
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @NotNull
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    @Column(name = "next_attempt_at")
+    private Instant nextAttemptAt;
+
+    @Column(name = "dispatched_at")
+    private Instant dispatchedAt;
+
+    @NotNull
+    private Integer attempts = 0;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    // Comma-separated names of the sinks that have already accepted this message.
+    @Column(name = "delivered_sinks", columnDefinition = "TEXT")
+    private String deliveredSinks;
+
+    // Set when the message ran out of attempts; it is no longer claimed.
+    @Column(name = "failed_at")
+    private Instant failedAt;
+
+    public OutboxMessage() {
+    }
+
+    public OutboxMessage(String messageType, Long bookingId, String payload) {
+        this.messageType = messageType;
+        this.bookingId = bookingId;
+        this.payload = payload;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+        nextAttemptAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getMessageType() {
+        return messageType;
+    }
+
+    public void setMessageType(String messageType) {
+        this.messageType = messageType;
+    }
+
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public void setBookingId(Long bookingId) {
+        this.bookingId = bookingId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public Instant getDispatchedAt() {
+        return dispatchedAt;
+    }
+
+    public void setDispatchedAt(Instant dispatchedAt) {
+        this.dispatchedAt = dispatchedAt;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public String getDeliveredSinks() {
+        return deliveredSinks;
+    }
+
+    public void setDeliveredSinks(String deliveredSinks) {
+        this.deliveredSinks = deliveredSinks;
+    }
+
+    public Instant getFailedAt() {
+        return failedAt;
+    }
+
+    public void setFailedAt(Instant failedAt) {
+        this.failedAt = failedAt;
+    }
+}
@@ -0,0 +1,92 @@
+package com.eventbooking.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+@Entity
+@Table(name = "seat_sections")
+public class SeatSection {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seat_section_seq")
+    @SequenceGenerator(name = "seat_section_seq", sequenceName = "seat_sections_id_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @NotNull
+    private String name;
+
+    @NotNull
+    @Column(name = "row_count")
+    private Integer rowCount;
+
+    @NotNull
+    @Column(name = "seats_per_row")
+    private Integer seatsPerRow;
+
+    @NotNull
+    @Column(name = "sort_order")
+    private Integer sortOrder;
+
+    public SeatSection() {
+    }
+
+    public SeatSection(Long eventId, String name, Integer rowCount, Integer seatsPerRow, Integer sortOrder) {
+        this.eventId = eventId;
+        this.name = name;
+        this.rowCount = rowCount;
+        this.seatsPerRow = seatsPerRow;
+        this.sortOrder = sortOrder;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getRowCount() {
+        return rowCount;
+    }
+
+    public void setRowCount(Integer rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    public Integer getSeatsPerRow() {
+        return seatsPerRow;
+    }
+
+    public void setSeatsPerRow(Integer seatsPerRow) {
+        this.seatsPerRow = seatsPerRow;
+    }
+
+    public Integer getSortOrder() {
+        return sortOrder;
+    }
+
+    public void setSortOrder(Integer sortOrder) {
+        this.sortOrder = sortOrder;
+    }
+}
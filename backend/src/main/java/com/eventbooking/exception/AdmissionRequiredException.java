@@ -0,0 +1,8 @@
+package com.eventbooking.exception;
+
+public class AdmissionRequiredException extends RuntimeException {
+
+    public AdmissionRequiredException(String message) {
+        super(message);
+    }
+}
@@ -2,9 +2,11 @@ package com.eventbooking.repository;
 
 import com.eventbooking.entity.Booking;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
@@ -16,11 +18,57 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     List<Booking> findByEventId(Long eventId);
 
-    @Query("SELECT b FROM Booking b WHERE b.event.id = :eventId AND b.isReserved = true AND b.status = 'PENDING' AND b.reservationExpiry > :now")
-    List<Booking> findActiveReservationsByEventId(@Param("eventId") Long eventId, @Param("now") Instant now);
+    @Query("SELECT b.id, b.event.id, b.ticketCount, b.reservationExpiry, b.seatNumbers FROM Booking b WHERE b.isReserved = true AND b.status = 'PENDING'")
+    List<Object[]> findPendingHolds();
 
-    @Query("SELECT b FROM Booking b WHERE b.isReserved = true AND b.status = 'PENDING' AND b.reservationExpiry <= :now")
-    List<Booking> findExpiredReservations(@Param("now") Instant now);
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Booking b WHERE b.id = :id AND b.isReserved = true AND b.status = 'PENDING'")
+    int deleteHoldById(@Param("id") Long id);
+
+    // Deletes the hold and takes its tickets off events.held_tickets in one statement, so a crash cannot
+    // leave the counter pointing at a hold that no longer exists. Returns 1 if the hold was expired here.
+    @Transactional
+    @Modifying
+    @Query(value = "WITH expired AS (" +
+            "DELETE FROM bookings WHERE id = :id AND is_reserved = true AND status = 'PENDING' AND reservation_expiry <= :now " +
+            "RETURNING event_id, ticket_count) " +
+            "UPDATE events SET held_tickets = GREATEST(events.held_tickets - expired.ticket_count, 0) " +
+            "FROM expired WHERE events.id = expired.event_id", nativeQuery = true)
+    int expireHoldById(@Param("id") Long id, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = 'CONFIRMED', b.isReserved = false, b.reservationExpiry = null " +
+            "WHERE b.id = :id AND b.isReserved = true AND b.status = 'PENDING' " +
+            "AND (b.reservationExpiry IS NULL OR b.reservationExpiry > :now)")
+    int confirmHold(@Param("id") Long id, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = 'CANCELLED' WHERE b.id = :id AND b.status = 'CONFIRMED'")
+    int cancelConfirmed(@Param("id") Long id);
+
+    @Transactional
+    @Query(value = "WITH expired AS (" +
+            "DELETE FROM bookings WHERE id IN (" +
+            "SELECT id FROM bookings WHERE is_reserved = true AND status = 'PENDING' AND reservation_expiry <= :now " +
+            "ORDER BY reservation_expiry LIMIT :batchSize FOR UPDATE SKIP LOCKED) " +
+            "RETURNING event_id, ticket_count, seat_numbers), " +
+            "totals AS (SELECT event_id, SUM(ticket_count) AS tickets, COUNT(*) AS holds, " +
+            "STRING_AGG(seat_numbers, ',') AS seats FROM expired GROUP BY event_id), " +
+            "released AS (UPDATE events SET held_tickets = GREATEST(events.held_tickets - totals.tickets, 0) " +
+            "FROM totals WHERE events.id = totals.event_id) " +
+            "SELECT event_id, tickets, holds, seats FROM totals",
+            nativeQuery = true)
+    List<Object[]> deleteExpiredHoldBatch(@Param("now") Instant now, @Param("batchSize") int batchSize);
+
+    @Query("SELECT b.event.id, b.status, b.seatNumbers FROM Booking b WHERE b.seatNumbers IS NOT NULL " +
+            "AND (b.status = 'CONFIRMED' OR (b.status = 'PENDING' AND b.isReserved = true))")
+    List<Object[]> findSeatedBookings();
+
+    @Query("SELECT COUNT(b) FROM Booking b WHERE b.event.id = :eventId AND b.status IN ('PENDING', 'CONFIRMED')")
+    long countActiveByEventId(@Param("eventId") Long eventId);
 
     @Query("SELECT b FROM Booking b JOIN FETCH b.user JOIN FETCH b.event WHERE b.id = :id")
     Optional<Booking> findByIdWithUserAndEvent(@Param("id") Long id);
@@ -3,11 +3,16 @@ package com.eventbooking.repository;
 import com.eventbooking.entity.Event;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,7 +22,31 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     @Query("SELECT e FROM Event e ORDER BY e.eventDate, e.eventTime")
     List<Event> findAvailableEvents();
 
-    List<Event> findByCategoryOrderByEventDate(String category);
+
+    // Keyset pages on (event_date, event_time, id): the row comparison starts an index range scan right
+    // after the previous page, so deep pages cost the same as the first.
+    @Query(value = "SELECT * FROM events WHERE (event_date, event_time, id) > (:afterDate, :afterTime, :afterId) " +
+            "AND event_date <= :toDate AND ticket_price BETWEEN :minPrice AND :maxPrice " +
+            "AND (:onlyAvailable = false OR available_tickets > held_tickets) " +
+            "ORDER BY event_date, event_time, id LIMIT :limit", nativeQuery = true)
+    List<Event> findPage(@Param("afterDate") LocalDate afterDate, @Param("afterTime") LocalTime afterTime,
+                         @Param("afterId") Long afterId, @Param("toDate") LocalDate toDate,
+                         @Param("minPrice") BigDecimal minPrice, @Param("maxPrice") BigDecimal maxPrice,
+                         @Param("onlyAvailable") boolean onlyAvailable, @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM events WHERE category = :category " +
+            "AND (event_date, event_time, id) > (:afterDate, :afterTime, :afterId) " +
+            "AND event_date <= :toDate AND ticket_price BETWEEN :minPrice AND :maxPrice " +
+            "AND (:onlyAvailable = false OR available_tickets > held_tickets) " +
+            "ORDER BY event_date, event_time, id LIMIT :limit", nativeQuery = true)
+    List<Event> findPageByCategory(@Param("category") String category,
+                                   @Param("afterDate") LocalDate afterDate, @Param("afterTime") LocalTime afterTime,
+                                   @Param("afterId") Long afterId, @Param("toDate") LocalDate toDate,
+                                   @Param("minPrice") BigDecimal minPrice, @Param("maxPrice") BigDecimal maxPrice,
+                                   @Param("onlyAvailable") boolean onlyAvailable, @Param("limit") int limit);
+
+    @Query("SELECT e.id, e.availableTickets, e.heldTickets FROM Event e")
+    List<Object[]> findAllTicketCounts();
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT e FROM Event e WHERE e.id = :id")
@@ -26,4 +55,52 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     @Lock(LockModeType.OPTIMISTIC)
     @Query("SELECT e FROM Event e WHERE e.id = :id")
     Optional<Event> findByIdWithOptimisticLock(@Param("id") Long id);
-}
\ No newline at end of file
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE events SET held_tickets = held_tickets + :tickets " +
+            "WHERE id = :id AND available_tickets - held_tickets - :keep >= :tickets", nativeQuery = true)
+    int reserveHeldTickets(@Param("id") Long id, @Param("tickets") int tickets, @Param("keep") int keep);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE events SET held_tickets = held_tickets + :tickets WHERE id = :id", nativeQuery = true)
+    int addHeldTickets(@Param("id") Long id, @Param("tickets") int tickets);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE events SET held_tickets = GREATEST(held_tickets - :tickets, 0) " +
+            "WHERE id = :id", nativeQuery = true)
+    int releaseHeldTickets(@Param("id") Long id, @Param("tickets") int tickets);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE events SET available_tickets = available_tickets - :tickets, " +
+            "held_tickets = held_tickets - :tickets, version = COALESCE(version, 0) + 1 " +
+            "WHERE id = :id AND held_tickets >= :tickets AND available_tickets >= :tickets", nativeQuery = true)
+    int sellHeldTickets(@Param("id") Long id, @Param("tickets") int tickets);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE events SET available_tickets = available_tickets - :tickets, " +
+            "held_tickets = GREATEST(held_tickets - :tickets, 0), version = COALESCE(version, 0) + 1 " +
+            "WHERE id = :id AND available_tickets >= :tickets", nativeQuery = true)
+    int sellTickets(@Param("id") Long id, @Param("tickets") int tickets);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE events SET available_tickets = available_tickets + :tickets, version = COALESCE(version, 0) + 1 " +
+            "WHERE id = :id", nativeQuery = true)
+    int restockTickets(@Param("id") Long id, @Param("tickets") int tickets);
+
+    @Query(value = "SELECT e.id, e.held_tickets, COALESCE(SUM(b.ticket_count), 0) FROM events e " +
+            "LEFT JOIN bookings b ON b.event_id = e.id AND b.is_reserved = true AND b.status = 'PENDING' " +
+            "GROUP BY e.id, e.held_tickets " +
+            "HAVING e.held_tickets <> COALESCE(SUM(b.ticket_count), 0)", nativeQuery = true)
+    List<Object[]> findHeldTicketMismatches();
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE events SET held_tickets = :pending WHERE id = :id AND held_tickets = :expected", nativeQuery = true)
+    int repairHeldTickets(@Param("id") Long id, @Param("expected") int expected, @Param("pending") int pending);
+}
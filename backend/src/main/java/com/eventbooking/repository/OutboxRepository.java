@@ -0,0 +1,35 @@
+package com.eventbooking.repository;
+
+import com.eventbooking.entity.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxMessage, Long> {
+
+    // Row locks are held until the claiming transaction ends; other dispatchers skip them.
+    @Query(value = "SELECT * FROM outbox_messages WHERE dispatched_at IS NULL AND failed_at IS NULL AND next_attempt_at <= :now " +
+            "ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxMessage> claimBatch(@Param("now") Instant now, @Param("batchSize") int batchSize);
+
+    @Query("SELECT COUNT(o) FROM OutboxMessage o WHERE o.dispatchedAt IS NULL AND o.failedAt IS NULL")
+    long countPending();
+
+    @Query("SELECT COUNT(o) FROM OutboxMessage o WHERE o.failedAt IS NOT NULL")
+    long countFailed();
+
+    @Query("SELECT MIN(o.createdAt) FROM OutboxMessage o WHERE o.dispatchedAt IS NULL AND o.failedAt IS NULL")
+    Instant findOldestPendingCreatedAt();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxMessage o WHERE o.dispatchedAt IS NOT NULL AND o.dispatchedAt < :before")
+    int deleteDispatchedBefore(@Param("before") Instant before);
+}
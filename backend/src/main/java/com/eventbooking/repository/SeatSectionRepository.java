@@ -0,0 +1,25 @@
+package com.eventbooking.repository;
+
+import com.eventbooking.entity.SeatSection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface SeatSectionRepository extends JpaRepository<SeatSection, Long> {
+
+    List<SeatSection> findByEventIdOrderBySortOrder(Long eventId);
+
+    @Query("SELECT s FROM SeatSection s ORDER BY s.eventId, s.sortOrder")
+    List<SeatSection> findAllOrdered();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SeatSection s WHERE s.eventId = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
+}
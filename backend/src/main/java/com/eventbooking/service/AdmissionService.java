@@ -0,0 +1,149 @@
+package com.eventbooking.service;
+
+import com.eventbooking.dto.AdmissionStatusDTO;
+import com.eventbooking.exception.AdmissionRequiredException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Virtual waiting room for hot events. When enabled for an event, users take an ordered queue token
+ * and may only reserve once the admission cursor, which advances at a fixed rate, has passed it.
+ * Everything is served from memory so polling costs nothing on the database or the event locks.
+ */
+@Service
+public class AdmissionService {
+
+    @Value("${booking.admission.grace-seconds:120}")
+    private int graceSeconds;
+
+    private final ConcurrentHashMap<Long, WaitingRoom> rooms = new ConcurrentHashMap<>();
+
+    public void configure(Long eventId, boolean enabled, double ratePerSecond) {
+        if (!enabled) {
+            rooms.remove(eventId);
+            return;
+        }
+        if (ratePerSecond <= 0) {
+            throw new RuntimeException("ratePerSecond must be positive");
+        }
+        rooms.computeIfAbsent(eventId, k -> new WaitingRoom()).ratePerSecond = ratePerSecond;
+    }
+
+    public boolean isEnabled(Long eventId) {
+        return rooms.containsKey(eventId);
+    }
+
+    public AdmissionStatusDTO join(Long eventId, Long userId) {
+        WaitingRoom room = rooms.get(eventId);
+        if (room == null) {
+            return new AdmissionStatusDTO(eventId, null, 0, true, 0);
+        }
+        Long token = room.tokensByUser.computeIfAbsent(userId, k -> {
+            long issued = room.nextToken.incrementAndGet();
+            room.owners.put(issued, userId);
+            return issued;
+        });
+        return status(eventId, room, token);
+    }
+
+    public AdmissionStatusDTO getStatus(Long eventId, Long token) {
+        WaitingRoom room = rooms.get(eventId);
+        if (room == null) {
+            return new AdmissionStatusDTO(eventId, token, 0, true, 0);
+        }
+        return status(eventId, room, token);
+    }
+
+    // Consumes the caller's token; each admission is good for one reservation.
+    public void admit(Long eventId, Long userId, Long token) {
+        WaitingRoom room = rooms.get(eventId);
+        if (room == null) {
+            return;
+        }
+        if (token == null || !userId.equals(room.owners.get(token))) {
+            throw new AdmissionRequiredException("This event has a waiting room. Join the queue before reserving.");
+        }
+        if (token > room.admittedUpTo) {
+            AdmissionStatusDTO status = status(eventId, room, token);
+            throw new AdmissionRequiredException("Not admitted yet. Queue position: " + status.getPosition());
+        }
+        // Only one of several concurrent reservations presenting the same token gets to remove it.
+        if (!room.owners.remove(token, userId)) {
+            throw new AdmissionRequiredException("This admission has already been used. Join the queue again.");
+        }
+        room.tokensByUser.remove(userId, token);
+    }
+
+    // Gives a token back after the reservation it was admitted for failed, so the user keeps their place.
+    public void restore(Long eventId, Long userId, Long token) {
+        WaitingRoom room = rooms.get(eventId);
+        if (room == null || token == null) {
+            return;
+        }
+        if (room.owners.putIfAbsent(token, userId) == null) {
+            room.tokensByUser.putIfAbsent(userId, token);
+        }
+    }
+
+    public Map<Long, Map<String, Object>> getRooms() {
+        Map<Long, Map<String, Object>> summary = new HashMap<>();
+        rooms.forEach((eventId, room) -> {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("ratePerSecond", room.ratePerSecond);
+            stats.put("tokensIssued", room.nextToken.get());
+            stats.put("admittedUpTo", room.admittedUpTo);
+            stats.put("waiting", Math.max(0, room.nextToken.get() - room.admittedUpTo));
+            summary.put(eventId, stats);
+        });
+        return summary;
+    }
+
+    @Scheduled(fixedRate = 200)
+    public void advance() {
+        long now = System.nanoTime();
+        rooms.forEach((eventId, room) -> {
+            double elapsedSeconds = (now - room.lastAdvanceNanos) / 1_000_000_000.0;
+            room.lastAdvanceNanos = now;
+
+            long issued = room.nextToken.get();
+            room.admittedCursor = Math.min(issued, room.admittedCursor + room.ratePerSecond * elapsedSeconds);
+            room.admittedUpTo = (long) room.admittedCursor;
+
+            // Tokens admitted longer ago than the grace period are dropped.
+            long expiredBelow = room.admittedUpTo - (long) (room.ratePerSecond * graceSeconds);
+            if (expiredBelow > 0) {
+                ConcurrentNavigableMap<Long, Long> expired = room.owners.headMap(expiredBelow, true);
+                List<Map.Entry<Long, Long>> entries = new ArrayList<>(expired.entrySet());
+                entries.forEach(entry -> room.tokensByUser.remove(entry.getValue(), entry.getKey()));
+                expired.clear();
+            }
+        });
+    }
+
+    private AdmissionStatusDTO status(Long eventId, WaitingRoom room, Long token) {
+        long position = Math.max(0, token - room.admittedUpTo);
+        long waitSeconds = (long) Math.ceil(position / room.ratePerSecond);
+        return new AdmissionStatusDTO(eventId, token, position, position == 0, waitSeconds);
+    }
+
+    private static class WaitingRoom {
+        private final AtomicLong nextToken = new AtomicLong();
+        private final ConcurrentSkipListMap<Long, Long> owners = new ConcurrentSkipListMap<>();
+        private final ConcurrentHashMap<Long, Long> tokensByUser = new ConcurrentHashMap<>();
+        private volatile double ratePerSecond;
+        private volatile long admittedUpTo;
+        private double admittedCursor;
+        private long lastAdvanceNanos = System.nanoTime();
+    }
+}
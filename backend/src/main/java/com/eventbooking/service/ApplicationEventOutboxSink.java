@@ -0,0 +1,25 @@
+package com.eventbooking.service;
+
+import com.eventbooking.entity.OutboxMessage;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ApplicationEventOutboxSink implements OutboxSink {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public String getName() {
+        return "events";
+    }
+
+    @Override
+    public void deliver(OutboxMessage message) {
+        eventPublisher.publishEvent(new BookingOutboxEvent(message.getId(), message.getMessageType(),
+                message.getBookingId(), message.getPayload()));
+    }
+}
@@ -0,0 +1,37 @@
+package com.eventbooking.service;
+
+/**
+ * Published by InventoryService whenever an event's ticket counters change: RESERVED and CONFIRMED take
+ * tickets, RELEASED and RESTOCKED make them reservable again.
+ */
+public class AvailabilityChangedEvent {
+
+    public enum Reason {
+        RESERVED,
+        CONFIRMED,
+        RELEASED,
+        RESTOCKED
+    }
+
+    private final Long eventId;
+    private final int tickets;
+    private final Reason reason;
+
+    public AvailabilityChangedEvent(Long eventId, int tickets, Reason reason) {
+        this.eventId = eventId;
+        this.tickets = tickets;
+        this.reason = reason;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public int getTickets() {
+        return tickets;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,297 @@
+package com.eventbooking.service;
+
+import com.eventbooking.exception.ServiceBusyException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pushes each event's reservable ticket count to Server-Sent Events subscribers. Counter changes only
+ * mark the event dirty; a flush every booking.availability-stream.flush-interval-ms reads the count once
+ * per dirty event and offers one pre-built message to all of its subscribers, so a burst of reservations
+ * costs one read and one message per subscriber per interval. Emitters are async servlet responses and
+ * hold no thread while idle.
+ *
+ * The @Scheduled methods only hand work to streamExecutor and never write to a socket themselves. Each
+ * subscriber keeps just its latest unsent message and has at most one send running, so a slow client
+ * costs at most one sender thread and never delays the others' messages. A send still blocked after
+ * booking.availability-stream.send-timeout-ms means the client has fallen behind: it is dropped and gets
+ * no further messages, and its blocked write ends when the connection's write timeout fires.
+ */
+@Service
+public class AvailabilityStreamService {
+
+    // Marks the end of a stream in a subscriber's pending slot; compared by identity.
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> END = new HashSet<>();
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    @Qualifier("streamExecutor")
+    private Executor streamExecutor;
+
+    @Value("${booking.availability-stream.max-subscribers:50000}")
+    private int maxSubscribers;
+
+    @Value("${booking.availability-stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${booking.availability-stream.send-timeout-ms:5000}")
+    private long sendTimeoutMs;
+
+    private final ConcurrentHashMap<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean flushing = new AtomicBoolean(false);
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final AtomicLong messagesSent = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong slowDropped = new AtomicLong();
+
+    public SseEmitter subscribe(Long eventId) {
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            throw new ServiceBusyException("Too many live availability subscribers on this instance");
+        }
+        int reservable;
+        try {
+            reservable = inventoryService.getReservableTickets(eventId);
+        } catch (RuntimeException e) {
+            subscribers.decrementAndGet();
+            throw e;
+        }
+
+        SseEmitter emitter = createEmitter();
+        Subscriber subscriber = new Subscriber(emitter);
+        channels.compute(eventId, (k, existing) -> {
+            Channel channel = existing != null ? existing : new Channel();
+            channel.subscribers.put(emitter, subscriber);
+            // The new subscriber's snapshot may differ from what the others were last sent.
+            channel.lastSent = -1;
+            return channel;
+        });
+        emitter.onCompletion(() -> unsubscribe(eventId, emitter));
+        emitter.onTimeout(() -> unsubscribe(eventId, emitter));
+        emitter.onError(error -> unsubscribe(eventId, emitter));
+
+        offer(eventId, subscriber, message(eventId, reservable), true);
+        return emitter;
+    }
+
+    // After commit, so the flush never reads a count that is later rolled back.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        markDirty(event.getEventId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        markDirty(event.getEventId());
+    }
+
+    @Scheduled(fixedDelayString = "${booking.availability-stream.flush-interval-ms:500}")
+    public void flush() {
+        if (dirty.isEmpty() || !flushing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            streamExecutor.execute(this::flushDirty);
+        } catch (RejectedExecutionException e) {
+            flushing.set(false);
+        }
+    }
+
+    // Keeps idle connections open through proxies and drops clients whose last send never finished.
+    @Scheduled(fixedRateString = "${booking.availability-stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        long now = System.nanoTime();
+        channels.forEach((eventId, channel) -> {
+            for (Subscriber subscriber : channel.subscribers.values()) {
+                if (isBehind(subscriber, now)) {
+                    dropSlow(eventId, subscriber);
+                } else {
+                    offer(eventId, subscriber, ping, false);
+                }
+            }
+        });
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("subscribers", subscribers.get());
+        stats.put("maxSubscribers", maxSubscribers);
+        stats.put("events", channels.size());
+        stats.put("messagesSent", messagesSent.get());
+        stats.put("flushes", flushes.get());
+        stats.put("slowDropped", slowDropped.get());
+        return stats;
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private void flushDirty() {
+        long now = System.nanoTime();
+        try {
+            for (Long eventId : dirty) {
+                dirty.remove(eventId);
+                Channel channel = channels.get(eventId);
+                if (channel == null) {
+                    continue;
+                }
+                int reservable;
+                try {
+                    reservable = inventoryService.getReservableTickets(eventId);
+                } catch (RuntimeException e) {
+                    // The event was deleted: end its streams.
+                    channel.subscribers.values().forEach(subscriber -> offer(eventId, subscriber, null, true));
+                    continue;
+                }
+                if (reservable == channel.lastSent) {
+                    continue;
+                }
+                channel.lastSent = reservable;
+                Set<ResponseBodyEmitter.DataWithMediaType> message = message(eventId, reservable);
+                for (Subscriber subscriber : channel.subscribers.values()) {
+                    if (isBehind(subscriber, now)) {
+                        dropSlow(eventId, subscriber);
+                    } else {
+                        offer(eventId, subscriber, message, true);
+                    }
+                }
+            }
+            flushes.incrementAndGet();
+        } finally {
+            flushing.set(false);
+        }
+    }
+
+    private void markDirty(Long eventId) {
+        if (channels.containsKey(eventId)) {
+            dirty.add(eventId);
+        }
+    }
+
+    // Replaces the subscriber's unsent message (a heartbeat never replaces a count) and starts a sender
+    // unless one is already running for it. A null message ends the stream once earlier sends are done.
+    private void offer(Long eventId, Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> message,
+                       boolean replace) {
+        if (replace) {
+            subscriber.pending.set(message != null ? message : END);
+        } else if (!subscriber.pending.compareAndSet(null, message)) {
+            return;
+        }
+        startSender(eventId, subscriber);
+    }
+
+    private void startSender(Long eventId, Subscriber subscriber) {
+        if (subscriber.sending.compareAndSet(false, true)) {
+            try {
+                streamExecutor.execute(() -> drain(eventId, subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.sending.set(false);
+                unsubscribe(eventId, subscriber.emitter);
+            }
+        }
+    }
+
+    private void drain(Long eventId, Subscriber subscriber) {
+        try {
+            Set<ResponseBodyEmitter.DataWithMediaType> message;
+            while (!subscriber.removed && (message = subscriber.pending.getAndSet(null)) != null) {
+                if (message == END) {
+                    subscriber.emitter.complete();
+                    return;
+                }
+                subscriber.sendStartedAt = System.nanoTime();
+                subscriber.emitter.send(message);
+                messagesSent.incrementAndGet();
+            }
+        } catch (Exception e) {
+            unsubscribe(eventId, subscriber.emitter);
+            return;
+        } finally {
+            subscriber.sendStartedAt = 0;
+            subscriber.sending.set(false);
+        }
+        // A message offered after the loop last looked, while this sender still counted as running.
+        if (!subscriber.removed && subscriber.pending.get() != null) {
+            startSender(eventId, subscriber);
+        }
+    }
+
+    private boolean isBehind(Subscriber subscriber, long now) {
+        long started = subscriber.sendStartedAt;
+        return started != 0 && now - started > TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+    }
+
+    // complete() would wait for the blocked send to finish, so the subscriber is only removed here.
+    private void dropSlow(Long eventId, Subscriber subscriber) {
+        if (unsubscribe(eventId, subscriber.emitter)) {
+            slowDropped.incrementAndGet();
+            System.out.println("Availability stream: dropped a subscriber of event " + eventId
+                    + " whose send was blocked for over " + sendTimeoutMs + " ms");
+        }
+    }
+
+    private boolean unsubscribe(Long eventId, SseEmitter emitter) {
+        boolean[] removed = new boolean[1];
+        channels.computeIfPresent(eventId, (k, channel) -> {
+            Subscriber subscriber = channel.subscribers.remove(emitter);
+            if (subscriber != null) {
+                subscriber.removed = true;
+                subscribers.decrementAndGet();
+                removed[0] = true;
+            }
+            return channel.subscribers.isEmpty() ? null : channel;
+        });
+        return removed[0];
+    }
+
+    // Built once per flush and shared by every subscriber of the event.
+    private static Set<ResponseBodyEmitter.DataWithMediaType> message(Long eventId, int reservable) {
+        return SseEmitter.event()
+                .name("availability")
+                .data("{\"eventId\":" + eventId + ",\"reservable\":" + reservable + "}", MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+    private static class Channel {
+        private final ConcurrentHashMap<SseEmitter, Subscriber> subscribers = new ConcurrentHashMap<>();
+        private volatile int lastSent = -1;
+    }
+
+    private static class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicReference<Set<ResponseBodyEmitter.DataWithMediaType>> pending = new AtomicReference<>();
+        private final AtomicBoolean sending = new AtomicBoolean(false);
+        private volatile long sendStartedAt;
+        private volatile boolean removed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.eventbooking.service;
+
+/**
+ * In-process copy of a dispatched outbox message, for @EventListener beans such as notification or
+ * analytics hooks. Published from the dispatcher thread, never from a booking request, and outside any
+ * transaction. Listeners run one after another on that thread, so a slow one holds up the rest of the
+ * batch; anything that calls out to another system should hand the work to an @Async method.
+ */
+public class BookingOutboxEvent {
+
+    private final Long messageId;
+    private final String messageType;
+    private final Long bookingId;
+    private final String payload;
+
+    public BookingOutboxEvent(Long messageId, String messageType, Long bookingId, String payload) {
+        this.messageId = messageId;
+        this.messageType = messageType;
+        this.bookingId = bookingId;
+        this.payload = payload;
+    }
+
+    public Long getMessageId() {
+        return messageId;
+    }
+
+    public String getMessageType() {
+        return messageType;
+    }
+
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+}
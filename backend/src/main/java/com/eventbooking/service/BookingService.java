@@ -1,5 +1,6 @@
 package com.eventbooking.service;
 
+import com.eventbooking.dto.BatchReservationResultDTO;
 import com.eventbooking.dto.BookingDTO;
 import com.eventbooking.dto.EventDTO;
 import com.eventbooking.dto.ReservationDTO;
@@ -8,29 +9,36 @@ import com.eventbooking.entity.Booking;
 import com.eventbooking.entity.BookingStatus;
 import com.eventbooking.entity.Event;
 import com.eventbooking.entity.User;
+import com.eventbooking.exception.ServiceBusyException;
+import com.eventbooking.exception.TooManyRequestsException;
 import com.eventbooking.repository.BookingRepository;
 import com.eventbooking.repository.EventRepository;
 import com.eventbooking.repository.UserRepository;
+import com.eventbooking.util.StripedLock;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -49,43 +57,153 @@ public class BookingService {
     @Autowired
     private EventMapper eventMapper;
 
-    private final ConcurrentHashMap<Long, Lock> eventLocks = new ConcurrentHashMap<>();
+    @Autowired
+    private InventoryService inventoryService;
 
-    @Async
-    @Transactional
-    public CompletableFuture<ReservationDTO> reserveTickets(Long userId, Long eventId, Integer ticketCount) {
-        return CompletableFuture.supplyAsync(() -> {
-            Lock eventLock = eventLocks.computeIfAbsent(eventId, k -> new ReentrantLock());
+    @Autowired
+    private ReservationPipeline reservationPipeline;
+
+    @Autowired
+    private ReservationBatchWriter reservationBatchWriter;
+
+    @Autowired
+    @Qualifier("bookingExecutor")
+    private Executor bookingExecutor;
+
+    @Autowired
+    private StripedLock eventLocks;
 
+    @Autowired
+    private SeatMapService seatMapService;
+
+    @Autowired
+    private LoadShedder loadShedder;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public CompletableFuture<ReservationDTO> reserveTickets(Long userId, Long eventId, Integer ticketCount) {
+        if (seatMapService.hasSeatMap(eventId)) {
+            return CompletableFuture.failedFuture(
+                    new RuntimeException("This event has assigned seating. Please choose seats."));
+        }
+        if (reservationPipeline.isEnabled() && !inventoryService.isDatabaseMode()) {
             try {
-                if (eventLock.tryLock(5, java.util.concurrent.TimeUnit.SECONDS)) {
+                loadShedder.enter(eventId);
+            } catch (TooManyRequestsException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            return reservationPipeline.submit(userId, eventId, ticketCount)
+                    .whenComplete((reservation, error) -> loadShedder.exit(eventId))
+                    .thenApply(this::convertToReservationDTO);
+        }
+
+        return submitForEvent(eventId, () -> performReservation(userId, eventId, ticketCount, false));
+    }
+
+    // Holds either the listed seats or, when seats is empty, the best ticketCount adjacent seats.
+    public CompletableFuture<ReservationDTO> reserveSeats(Long userId, Long eventId, List<String> seats, Integer ticketCount) {
+        return submitForEvent(eventId, () -> performSeatReservation(userId, eventId, seats, ticketCount, false));
+    }
+
+    // Holds the best tickets or seats for the head of a waitlist, taking the tickets InventoryService set
+    // aside for it first. Skips the pipeline, whose batches only make ordinary reservations.
+    public CompletableFuture<ReservationDTO> reserveForWaitlist(Long userId, Long eventId, int ticketCount) {
+        if (seatMapService.hasSeatMap(eventId)) {
+            return submitForEvent(eventId, () -> performSeatReservation(userId, eventId, null, ticketCount, true));
+        }
+        return submitForEvent(eventId, () -> performReservation(userId, eventId, ticketCount, true));
+    }
+
+    // Passes the load shedder, then runs the work on the booking executor under the event lock (no lock
+    // in database mode). The time from submission until the lock is held feeds the shedder's wait estimate.
+    private <T> CompletableFuture<T> submitForEvent(Long eventId, Supplier<T> work) {
+        try {
+            loadShedder.enter(eventId);
+        } catch (TooManyRequestsException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        long submitted = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> {
+                if (inventoryService.isDatabaseMode()) {
+                    loadShedder.recordLockWait(eventId, System.nanoTime() - submitted);
+                    return work.get();
+                }
+
+                try {
+                    boolean locked = eventLocks.tryLock(eventId, 5, java.util.concurrent.TimeUnit.SECONDS);
+                    loadShedder.recordLockWait(eventId, System.nanoTime() - submitted);
+                    if (!locked) {
+                        throw new ServiceBusyException("System busy. Please try again in a moment.");
+                    }
                     try {
-                        return performReservation(userId, eventId, ticketCount);
+                        return work.get();
                     } finally {
-                        eventLock.unlock();
+                        eventLocks.unlock(eventId);
                     }
-                } else {
-                    throw new RuntimeException("System busy. Please try again in a moment.");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Reservation interrupted. Please try again.");
                 }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new RuntimeException("Reservation interrupted. Please try again.");
-            }
-        });
+            }, bookingExecutor);
+        } catch (RuntimeException e) {
+            loadShedder.exit(eventId);
+            throw e;
+        }
+        return future.whenComplete((result, error) -> loadShedder.exit(eventId));
     }
 
-    private ReservationDTO performReservation(Long userId, Long eventId, Integer ticketCount) {
-
+    private ReservationDTO performSeatReservation(Long userId, Long eventId, List<String> seats, Integer ticketCount,
+                                                  boolean waitlisted) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
 
-        int reservedTickets = getReservedTicketsCount(eventId);
-        int actuallyAvailable = event.getAvailableTickets() - reservedTickets;
+        int[] heldSeats = seats != null && !seats.isEmpty()
+                ? seatMapService.hold(eventId, seats)
+                : seatMapService.holdBestAvailable(eventId, ticketCount != null ? ticketCount : 0);
+        String seatNumbers = SeatMapService.encode(heldSeats);
+
+        if (!(waitlisted ? inventoryService.tryReserveForWaitlist(eventId, heldSeats.length)
+                : inventoryService.tryReserve(eventId, heldSeats.length))) {
+            seatMapService.release(eventId, seatNumbers);
+            throw new RuntimeException("Not enough tickets available. Available: "
+                    + inventoryService.getReservableTickets(eventId) + ", Requested: " + heldSeats.length);
+        }
+
+        Booking reservation = new Booking(user, event, heldSeats.length);
+        reservation.setStatus(BookingStatus.PENDING);
+        reservation.setIsReserved(true);
+        reservation.setReservationExpiry(Instant.now().plus(5, ChronoUnit.MINUTES));
+        reservation.setSeatNumbers(seatNumbers);
+
+        try {
+            return convertToReservationDTO(reservationBatchWriter.saveHold(reservation));
+        } catch (RuntimeException e) {
+            seatMapService.release(eventId, seatNumbers);
+            throw e;
+        }
+    }
+
+    private ReservationDTO performReservation(Long userId, Long eventId, Integer ticketCount, boolean waitlisted) {
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new RuntimeException("Event not found"));
 
-        if (actuallyAvailable < ticketCount) {
+        if (!(waitlisted ? inventoryService.tryReserveForWaitlist(eventId, ticketCount)
+                : inventoryService.tryReserve(eventId, ticketCount))) {
+            int actuallyAvailable = inventoryService.getReservableTickets(eventId);
             System.out.println("NOT ENOUGH TICKETS - Available: " + actuallyAvailable + ", Requested: " + ticketCount);
             throw new RuntimeException(
                     "Not enough tickets available. Available: " + actuallyAvailable + ", Requested: " + ticketCount);
@@ -98,20 +216,12 @@ public class BookingService {
         reservation.setIsReserved(true);
         reservation.setReservationExpiry(expiryTime);
 
-        Booking savedReservation = bookingRepository.save(reservation);
+        Booking savedReservation = reservationBatchWriter.saveHold(reservation);
 
         ReservationDTO dto = convertToReservationDTO(savedReservation);
         return dto;
     }
 
-    private synchronized int getReservedTicketsCount(Long eventId) {
-        Instant now = Instant.now();
-        List<Booking> activeReservations = bookingRepository.findActiveReservationsByEventId(eventId, now);
-        return activeReservations.stream()
-                .mapToInt(Booking::getTicketCount)
-                .sum();
-    }
-
     public ReservationDTO convertToReservationDTO(Booking reservation) {
 
         Event event = reservation.getEvent();
@@ -142,27 +252,131 @@ public class BookingService {
             dto.setSecondsRemaining(0);
         }
 
+        dto.setSeats(seatMapService.labels(event.getId(), reservation.getSeatNumbers()));
         return dto;
     }
 
-    @Async
-    @Transactional
-    public CompletableFuture<List<ReservationDTO>> bulkReserveTickets(List<ReservationRequest> requests) {
-        return CompletableFuture.supplyAsync(() -> {
-            return requests.parallelStream()
-                    .map(request -> {
-                        try {
-                            return reserveTickets(request.getUserId(), request.getEventId(), request.getTicketCount())
-                                    .get(10, java.util.concurrent.TimeUnit.SECONDS);
-                        } catch (Exception e) {
-                            System.err.println("Failed to process reservation for user " + request.getUserId() +
-                                    ", event " + request.getEventId() + ": " + e.getMessage());
-                            return null;
-                        }
-                    })
-                    .filter(result -> result != null)
-                    .collect(Collectors.toList());
-        });
+    public CompletableFuture<List<BatchReservationResultDTO>> bulkReserveTickets(List<ReservationRequest> requests) {
+        return CompletableFuture.supplyAsync(() -> performBulkReservation(requests), bookingExecutor);
+    }
+
+    private List<BatchReservationResultDTO> performBulkReservation(List<ReservationRequest> requests) {
+        List<BatchReservationResultDTO> results = new ArrayList<>(requests.size());
+        Map<Long, List<Integer>> linesByEvent = new LinkedHashMap<>();
+        for (int line = 0; line < requests.size(); line++) {
+            ReservationRequest request = requests.get(line);
+            BatchReservationResultDTO result = new BatchReservationResultDTO(
+                    line, request.getEventId(), request.getTicketCount());
+            results.add(result);
+
+            if (request.getEventId() == null || request.getTicketCount() == null || request.getTicketCount() <= 0) {
+                result.setError("eventId and a positive ticketCount are required");
+                continue;
+            }
+            if (seatMapService.hasSeatMap(request.getEventId())) {
+                result.setError("This event has assigned seating. Please choose seats.");
+                continue;
+            }
+            linesByEvent.computeIfAbsent(request.getEventId(), k -> new ArrayList<>()).add(line);
+        }
+
+        Map<Long, User> users = new HashMap<>();
+        userRepository.findAllById(requests.stream().map(ReservationRequest::getUserId).distinct().toList())
+                .forEach(user -> users.put(user.getId(), user));
+        Map<Long, Event> events = new HashMap<>();
+        eventRepository.findAllById(linesByEvent.keySet()).forEach(event -> events.put(event.getId(), event));
+
+        Instant expiryTime = Instant.now().plus(5, ChronoUnit.MINUTES);
+        List<Integer> heldLines = new ArrayList<>();
+        List<Booking> holds = new ArrayList<>();
+
+        for (Map.Entry<Long, List<Integer>> group : linesByEvent.entrySet()) {
+            Long eventId = group.getKey();
+            Event event = events.get(eventId);
+            List<Integer> lines = new ArrayList<>();
+            for (Integer line : group.getValue()) {
+                if (event == null) {
+                    results.get(line).setError("Event not found");
+                } else if (!users.containsKey(requests.get(line).getUserId())) {
+                    results.get(line).setError("User not found");
+                } else {
+                    lines.add(line);
+                }
+            }
+            if (lines.isEmpty()) {
+                continue;
+            }
+
+            Set<Integer> reserved;
+            try {
+                reserved = new HashSet<>(reserveGroup(eventId, lines, requests));
+            } catch (RuntimeException e) {
+                lines.forEach(line -> results.get(line).setError(e.getMessage()));
+                continue;
+            }
+
+            for (Integer line : lines) {
+                if (!reserved.contains(line)) {
+                    results.get(line).setError("Not enough tickets available. Available: "
+                            + inventoryService.getReservableTickets(eventId)
+                            + ", Requested: " + requests.get(line).getTicketCount());
+                    continue;
+                }
+                ReservationRequest request = requests.get(line);
+                Booking reservation = new Booking(users.get(request.getUserId()), event, request.getTicketCount());
+                reservation.setStatus(BookingStatus.PENDING);
+                reservation.setIsReserved(true);
+                reservation.setReservationExpiry(expiryTime);
+                heldLines.add(line);
+                holds.add(reservation);
+            }
+        }
+
+        reservationBatchWriter.saveHolds(holds,
+                (i, saved) -> {
+                    BatchReservationResultDTO result = results.get(heldLines.get(i));
+                    result.setSuccess(true);
+                    result.setReservation(convertToReservationDTO(saved));
+                },
+                (i, e) -> results.get(heldLines.get(i)).setError(e.getMessage()));
+
+        return results;
+    }
+
+    // Takes the event lock once for the whole group and tries to hold every line with a single
+    // inventory update; only when that fails are lines held one by one, in request order.
+    private List<Integer> reserveGroup(Long eventId, List<Integer> lines, List<ReservationRequest> requests) {
+        boolean locked = false;
+        if (!inventoryService.isDatabaseMode()) {
+            try {
+                locked = eventLocks.tryLock(eventId, 5, java.util.concurrent.TimeUnit.SECONDS);
+                if (!locked) {
+                    throw new ServiceBusyException("System busy. Please try again in a moment.");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Reservation interrupted. Please try again.");
+            }
+        }
+
+        try {
+            int total = lines.stream().mapToInt(line -> requests.get(line).getTicketCount()).sum();
+            if (inventoryService.tryReserve(eventId, total)) {
+                return lines;
+            }
+
+            List<Integer> reserved = new ArrayList<>();
+            for (Integer line : lines) {
+                if (inventoryService.tryReserve(eventId, requests.get(line).getTicketCount())) {
+                    reserved.add(line);
+                }
+            }
+            return reserved;
+        } finally {
+            if (locked) {
+                eventLocks.unlock(eventId);
+            }
+        }
     }
 
     public static class ReservationRequest {
@@ -189,62 +403,40 @@ public class BookingService {
         }
     }
 
-    @Async
+    @Async("bookingExecutor")
     @Transactional
     public CompletableFuture<BookingDTO> confirmReservation(Long reservationId) {
-        return CompletableFuture.supplyAsync(() -> {
-            Booking reservation = bookingRepository.findByIdWithUserAndEvent(reservationId)
-                    .orElseThrow(() -> new RuntimeException("Reservation not found"));
-
-            if (reservation.getReservationExpiry() != null
-                    && Instant.now().isAfter(reservation.getReservationExpiry())) {
-                throw new RuntimeException("Reservation has expired");
-            }
-
-            if (!reservation.getIsReserved() || reservation.getStatus() != BookingStatus.PENDING) {
-                throw new RuntimeException("Invalid reservation");
-            }
-
-            Lock eventLock = eventLocks.computeIfAbsent(reservation.getEvent().getId(), k -> new ReentrantLock());
+        Booking reservation = bookingRepository.findByIdWithUserAndEvent(reservationId)
+                .orElseThrow(() -> new RuntimeException("Reservation not found"));
 
-            try {
-                if (eventLock.tryLock(5, java.util.concurrent.TimeUnit.SECONDS)) {
-                    try {
-                        return performConfirmation(reservation);
-                    } finally {
-                        eventLock.unlock();
-                    }
-                } else {
-                    throw new RuntimeException("Unable to confirm reservation. Please try again.");
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new RuntimeException("Confirmation interrupted. Please try again.");
-            }
-        });
-    }
-
-    private BookingDTO performConfirmation(Booking reservation) {
         Event event = reservation.getEvent();
-        User user = reservation.getUser();
+        Long eventId = event.getId();
 
-        int reservedTickets = getReservedTicketsCount(event.getId());
-        int actuallyAvailable = event.getAvailableTickets() - reservedTickets;
+        // The conditional UPDATE claims the hold exactly once, so no event lock is needed: a second
+        // confirm, a cancel or the expiry worker racing on the same row simply loses.
+        if (bookingRepository.confirmHold(reservationId, Instant.now()) == 0) {
+            if (reservation.isReservationExpired()) {
+                throw new RuntimeException("Reservation has expired");
+            }
+            throw new RuntimeException("Invalid reservation");
+        }
 
-        if (actuallyAvailable < reservation.getTicketCount()) {
+        if (!inventoryService.confirm(eventId, reservation.getTicketCount())) {
             throw new RuntimeException("Not enough tickets available");
         }
-
-        event.setAvailableTickets(event.getAvailableTickets() - reservation.getTicketCount());
-        eventRepository.save(event);
+        seatMapService.confirm(eventId, reservation.getSeatNumbers());
+        eventPublisher.publishEvent(new CatalogChangedEvent(eventId, true));
+        eventPublisher.publishEvent(new ReservationClosedEvent(eventId, reservationId));
 
         reservation.setStatus(BookingStatus.CONFIRMED);
         reservation.setIsReserved(false);
         reservation.setReservationExpiry(null);
+        outboxService.record(OutboxService.BOOKING_CONFIRMED, reservation);
 
-        Booking confirmedBooking = bookingRepository.save(reservation);
-
-        return convertBookingToDTO(confirmedBooking, event, user);
+        BookingDTO dto = convertBookingToDTO(reservation, event, reservation.getUser());
+        dto.setSeats(seatMapService.labels(eventId, reservation.getSeatNumbers()));
+        dto.getEvent().setAvailableTickets(event.getAvailableTickets() - reservation.getTicketCount());
+        return CompletableFuture.completedFuture(dto);
     }
 
     private BookingDTO convertBookingToDTO(Booking booking, Event event, User user) {
@@ -262,57 +454,48 @@ public class BookingService {
                 eventDTO);
     }
 
-    @Async
+    @Async("bookingExecutor")
     @Transactional
     public CompletableFuture<Void> cancelReservation(Long reservationId) {
-        return CompletableFuture.runAsync(() -> {
-            Booking reservation = bookingRepository.findByIdWithUserAndEvent(reservationId)
-                    .orElseThrow(() -> new RuntimeException("Reservation not found"));
+        Booking reservation = bookingRepository.findByIdWithUserAndEvent(reservationId)
+                .orElseThrow(() -> new RuntimeException("Reservation not found"));
+
+        if (reservation.getIsReserved() && reservation.getStatus() == BookingStatus.PENDING) {
+            if (inventoryService.isDatabaseMode()) {
+                releaseHold(reservation);
+                return CompletableFuture.completedFuture(null);
+            }
 
-            if (reservation.getIsReserved() && reservation.getStatus() == BookingStatus.PENDING) {
-                Lock eventLock = eventLocks.computeIfAbsent(reservation.getEvent().getId(), k -> new ReentrantLock());
+            Long eventId = reservation.getEvent().getId();
 
-                try {
-                    if (eventLock.tryLock(5, java.util.concurrent.TimeUnit.SECONDS)) {
-                        try {
-                            bookingRepository.delete(reservation);
-                        } finally {
-                            eventLock.unlock();
-                        }
-                    } else {
-                        throw new RuntimeException("Unable to cancel reservation. Please try again.");
+            try {
+                if (eventLocks.tryLock(eventId, 5, java.util.concurrent.TimeUnit.SECONDS)) {
+                    try {
+                        releaseHold(reservation);
+                    } finally {
+                        eventLocks.unlock(eventId);
                     }
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException("Cancellation interrupted. Please try again.");
+                } else {
+                    throw new ServiceBusyException("Unable to cancel reservation. Please try again.");
                 }
-            } else {
-                throw new RuntimeException("Cannot cancel non-pending reservation");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Cancellation interrupted. Please try again.");
             }
-        });
-    }
-
-    @Scheduled(fixedRate = 60000)
-    @Async
-    @Transactional
-    public CompletableFuture<Void> cleanupExpiredReservations() {
-        return CompletableFuture.runAsync(() -> {
-            Instant now = Instant.now();
-            List<Booking> expiredReservations = bookingRepository.findExpiredReservations(now);
+        } else {
+            throw new RuntimeException("Cannot cancel non-pending reservation");
+        }
 
-            expiredReservations.parallelStream().forEach(reservation -> {
-                try {
-                    System.out.println("Cleaning up expired reservation: " + reservation.getId());
-                    bookingRepository.delete(reservation);
-                } catch (Exception e) {
-                    System.err.println("Failed to cleanup reservation " + reservation.getId() + ": " + e.getMessage());
-                }
-            });
+        return CompletableFuture.completedFuture(null);
+    }
 
-            if (!expiredReservations.isEmpty()) {
-                System.out.println("Cleaned up " + expiredReservations.size() + " expired reservations");
-            }
-        });
+    private void releaseHold(Booking reservation) {
+        if (bookingRepository.deleteHoldById(reservation.getId()) == 0) {
+            throw new RuntimeException("Cannot cancel non-pending reservation");
+        }
+        inventoryService.release(reservation.getEvent().getId(), reservation.getTicketCount());
+        seatMapService.release(reservation.getEvent().getId(), reservation.getSeatNumbers());
+        eventPublisher.publishEvent(new ReservationClosedEvent(reservation.getEvent().getId(), reservation.getId()));
     }
 
     @Transactional(readOnly = true)
@@ -340,7 +523,7 @@ public class BookingService {
         UserDTO userDTO = convertUserToDTO(user);
         EventDTO eventDTO = eventMapper.toEventDTO(event);
 
-        return new BookingDTO(
+        BookingDTO dto = new BookingDTO(
                 booking.getId(),
                 booking.getTicketCount(),
                 booking.getTotalAmount(),
@@ -349,6 +532,8 @@ public class BookingService {
                 booking.getBookingReference(),
                 userDTO,
                 eventDTO);
+        dto.setSeats(seatMapService.labels(event.getId(), booking.getSeatNumbers()));
+        return dto;
     }
 
     private UserDTO convertUserToDTO(User user) {
@@ -371,43 +556,34 @@ public class BookingService {
                 .collect(Collectors.toList());
     }
 
-    @Scheduled(fixedRate = 300000)
-    public void cleanupEventLocks() {
-        eventLocks.entrySet().removeIf(entry -> {
-            return !isEventActive(entry.getKey());
-        });
-    }
-
-    private boolean isEventActive(Long eventId) {
-        Optional<Event> event = eventRepository.findById(eventId);
-        ZonedDateTime nowUtc = ZonedDateTime.now(ZoneOffset.UTC);
-        return event.isPresent() && event.get().getEventDate().isAfter(nowUtc.toLocalDate());
-    }
-
-    @Async
+    @Async("bookingExecutor")
     @Transactional
     public CompletableFuture<Void> cancelBooking(Long bookingId) {
-        return CompletableFuture.runAsync(() -> {
-            Booking booking = bookingRepository.findByIdWithUserAndEvent(bookingId)
-                    .orElseThrow(() -> new RuntimeException("Booking not found"));
+        Booking booking = bookingRepository.findByIdWithUserAndEvent(bookingId)
+                .orElseThrow(() -> new RuntimeException("Booking not found"));
 
-            if (booking.getStatus() != BookingStatus.CONFIRMED) {
-                throw new RuntimeException("Only confirmed bookings can be cancelled");
-            }
+        if (booking.getStatus() != BookingStatus.CONFIRMED) {
+            throw new RuntimeException("Only confirmed bookings can be cancelled");
+        }
 
-            if (booking.getEvent().getEventDate().isBefore(LocalDate.now())) {
-                throw new RuntimeException("Cannot cancel past events");
-            }
+        if (booking.getEvent().getEventDate().isBefore(LocalDate.now())) {
+            throw new RuntimeException("Cannot cancel past events");
+        }
 
-            Event event = booking.getEvent();
-            event.setAvailableTickets(event.getAvailableTickets() + booking.getTicketCount());
-            eventRepository.save(event);
+        // Conditional like confirmHold: of two concurrent cancels only one flips the row, so the tickets
+        // are restocked once.
+        if (bookingRepository.cancelConfirmed(bookingId) == 0) {
+            throw new RuntimeException("Only confirmed bookings can be cancelled");
+        }
+        booking.setStatus(BookingStatus.CANCELLED);
+        outboxService.record(OutboxService.BOOKING_CANCELLED, booking);
+        inventoryService.restock(booking.getEvent().getId(), booking.getTicketCount());
+        seatMapService.restock(booking.getEvent().getId(), booking.getSeatNumbers());
+        eventPublisher.publishEvent(new CatalogChangedEvent(booking.getEvent().getId(), true));
 
-            booking.setStatus(BookingStatus.CANCELLED);
-            bookingRepository.save(booking);
+        System.out.println(" Booking cancelled: " + bookingId + ", tickets returned: " + booking.getTicketCount());
 
-            System.out.println(" Booking cancelled: " + bookingId + ", tickets returned: " + booking.getTicketCount());
-        });
+        return CompletableFuture.completedFuture(null);
     }
 
     public boolean canCancelBooking(Booking booking) {
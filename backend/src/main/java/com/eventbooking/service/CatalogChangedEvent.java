@@ -0,0 +1,29 @@
+package com.eventbooking.service;
+
+/**
+ * Published when an event's catalog data (details or sold ticket count) changes, so cached copies can be
+ * dropped once the change is committed. availabilityOnly marks changes that only moved the ticket count
+ * (confirmed and cancelled bookings), which lets the catalog listing refresh that one entry.
+ */
+public class CatalogChangedEvent {
+
+    private final Long eventId;
+    private final boolean availabilityOnly;
+
+    public CatalogChangedEvent(Long eventId) {
+        this(eventId, false);
+    }
+
+    public CatalogChangedEvent(Long eventId, boolean availabilityOnly) {
+        this.eventId = eventId;
+        this.availabilityOnly = availabilityOnly;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public boolean isAvailabilityOnly() {
+        return availabilityOnly;
+    }
+}
@@ -0,0 +1,294 @@
+package com.eventbooking.service;
+
+import com.eventbooking.dto.EventDTO;
+import com.eventbooking.entity.Event;
+import com.eventbooking.repository.EventRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded LRU cache of catalog EventDTOs with a TTL, plus the full listing as one entry. Entries are
+ * dropped after commit of any CatalogChangedEvent for the event, and the listing with them, except that
+ * a change to the ticket count only marks the event stale in the listing, and the next read re-reads
+ * just the marked events. A load that started before an invalidation is not stored, so a read racing a
+ * write cannot put stale data back.
+ *
+ * Each entry carries the ETag of what it holds. The listing's ETag is the catalog version, bumped on
+ * every invalidation, plus a hash of the (id, version) pairs it was loaded from, so getListingETag()
+ * can answer a conditional GET without touching the database. Cached DTOs are shared between requests
+ * and must not be modified by callers.
+ */
+@Service
+public class EventCatalogCache {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventMapper eventMapper;
+
+    @Value("${booking.catalog-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${booking.catalog-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${booking.catalog-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private final LinkedHashMap<Long, CachedValue<EventDTO>> events = new LinkedHashMap<>(256, 0.75f, true);
+    private volatile CachedValue<List<EventDTO>> allEvents;
+
+    // Events whose ticket count changed since the listing was loaded; refreshed by the next listing read.
+    private final Set<Long> staleListingEntries = ConcurrentHashMap.newKeySet();
+
+    // The catalog version: bumped on every invalidation; a load only stores its result if this did not move meanwhile.
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public List<EventDTO> getAllEvents() {
+        return getAllEventsTagged().getValue();
+    }
+
+    public Optional<EventDTO> getEvent(Long eventId) {
+        return getEventTagged(eventId).map(CachedValue::getValue);
+    }
+
+    // The ETag of the cached listing while it is current, or null if answering needs the database.
+    public String getListingETag() {
+        CachedValue<List<EventDTO>> cached = allEvents;
+        if (enabled && cached != null && !cached.isExpired() && staleListingEntries.isEmpty()) {
+            return cached.getETag();
+        }
+        return null;
+    }
+
+    public CachedValue<List<EventDTO>> getAllEventsTagged() {
+        CachedValue<List<EventDTO>> cached = allEvents;
+        if (enabled && cached != null && !cached.isExpired()) {
+            hits.incrementAndGet();
+            return staleListingEntries.isEmpty() ? cached : refreshStaleEntries(cached);
+        }
+        misses.incrementAndGet();
+        long loadGeneration = generation.get();
+        List<Event> entities = eventRepository.findAvailableEvents();
+        List<EventDTO> dtos = List.copyOf(entities.stream()
+                .map(eventMapper::toEventDTO)
+                .collect(Collectors.toList()));
+        CachedValue<List<EventDTO>> loaded = new CachedValue<>(dtos, catalogETag(loadGeneration, entities), expiresAt());
+        if (enabled) {
+            synchronized (staleListingEntries) {
+                if (generation.get() == loadGeneration) {
+                    allEvents = loaded;
+                    staleListingEntries.clear();
+                }
+            }
+        }
+        return loaded;
+    }
+
+    public Optional<CachedValue<EventDTO>> getEventTagged(Long eventId) {
+        if (!enabled) {
+            return eventRepository.findById(eventId).map(this::toCachedValue);
+        }
+        synchronized (events) {
+            CachedValue<EventDTO> cached = events.get(eventId);
+            if (cached != null) {
+                if (!cached.isExpired()) {
+                    hits.incrementAndGet();
+                    return Optional.of(cached);
+                }
+                events.remove(eventId);
+                expirations.incrementAndGet();
+            }
+        }
+        misses.incrementAndGet();
+        return load(eventId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.isAvailabilityOnly()) {
+            invalidateAvailability(event.getEventId());
+        } else {
+            invalidate(event.getEventId());
+        }
+    }
+
+    public void invalidate(Long eventId) {
+        synchronized (staleListingEntries) {
+            generation.incrementAndGet();
+            allEvents = null;
+        }
+        synchronized (events) {
+            events.remove(eventId);
+        }
+        invalidations.incrementAndGet();
+    }
+
+    // Only the event's ticket count moved: drop its own entry and leave the listing to refresh it alone.
+    public void invalidateAvailability(Long eventId) {
+        synchronized (staleListingEntries) {
+            staleListingEntries.add(eventId);
+            generation.incrementAndGet();
+        }
+        synchronized (events) {
+            events.remove(eventId);
+        }
+        invalidations.incrementAndGet();
+    }
+
+    public void invalidateAll() {
+        synchronized (staleListingEntries) {
+            generation.incrementAndGet();
+            allEvents = null;
+        }
+        synchronized (events) {
+            events.clear();
+        }
+        invalidations.incrementAndGet();
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("maxSize", maxSize);
+        stats.put("ttlSeconds", ttlSeconds);
+        synchronized (events) {
+            stats.put("size", events.size());
+        }
+        stats.put("listingCached", allEvents != null);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        stats.put("evictions", evictions.get());
+        stats.put("expirations", expirations.get());
+        stats.put("invalidations", invalidations.get());
+        return stats;
+    }
+
+    // Re-reads the events marked stale in one query and swaps them into a copy of the listing. Events
+    // marked while this runs stay marked for the next read.
+    private CachedValue<List<EventDTO>> refreshStaleEntries(CachedValue<List<EventDTO>> cached) {
+        long loadGeneration;
+        List<Long> eventIds;
+        synchronized (staleListingEntries) {
+            loadGeneration = generation.get();
+            eventIds = new ArrayList<>(staleListingEntries);
+        }
+        Map<Long, EventDTO> fresh = new HashMap<>();
+        for (Event event : eventRepository.findAllById(eventIds)) {
+            fresh.put(event.getId(), eventMapper.toEventDTO(event));
+        }
+        List<EventDTO> dtos = List.copyOf(cached.getValue().stream()
+                .map(dto -> fresh.getOrDefault(dto.getId(), dto))
+                .collect(Collectors.toList()));
+        CachedValue<List<EventDTO>> refreshed = new CachedValue<>(dtos,
+                listingETag(loadGeneration, cached.getETag()), cached.expiresAt);
+        synchronized (staleListingEntries) {
+            if (allEvents == cached) {
+                allEvents = refreshed;
+                eventIds.forEach(staleListingEntries::remove);
+            }
+        }
+        return refreshed;
+    }
+
+    private Optional<CachedValue<EventDTO>> load(Long eventId) {
+        long loadGeneration = generation.get();
+        Optional<CachedValue<EventDTO>> loaded = eventRepository.findById(eventId).map(this::toCachedValue);
+        if (loaded.isEmpty()) {
+            return loaded;
+        }
+        synchronized (events) {
+            if (generation.get() == loadGeneration) {
+                events.put(eventId, loaded.get());
+                while (events.size() > maxSize) {
+                    Long eldest = events.keySet().iterator().next();
+                    events.remove(eldest);
+                    evictions.incrementAndGet();
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private CachedValue<EventDTO> toCachedValue(Event event) {
+        return new CachedValue<>(eventMapper.toEventDTO(event), eventETag(event), expiresAt());
+    }
+
+    // Every write to an event, including ticket sales and restocks, bumps its @Version, so (id, version)
+    // identifies the representation on any instance.
+    private static String eventETag(Event event) {
+        return "e" + event.getId() + "-v" + versionOf(event);
+    }
+
+    // The hash keeps tags from different instances, or from before and after a TTL reload that picked up
+    // another instance's writes, from colliding when their catalog versions happen to match.
+    private static String catalogETag(long catalogVersion, List<Event> events) {
+        long hash = 1125899906842597L;
+        for (Event event : events) {
+            hash = 31 * hash + event.getId();
+            hash = 31 * hash + versionOf(event);
+        }
+        return "c" + catalogVersion + "-" + events.size() + "-" + Long.toHexString(hash);
+    }
+
+    // A refreshed listing keeps the hash part of the tag it was derived from under the new version.
+    private static String listingETag(long catalogVersion, String derivedFrom) {
+        return "c" + catalogVersion + derivedFrom.substring(derivedFrom.indexOf('-'));
+    }
+
+    private static long versionOf(Event event) {
+        return event.getVersion() != null ? event.getVersion() : 0;
+    }
+
+    private long expiresAt() {
+        return System.currentTimeMillis() + ttlSeconds * 1000;
+    }
+
+    public static class CachedValue<T> {
+        private final T value;
+        private final String eTag;
+        private final long expiresAt;
+
+        CachedValue(T value, String eTag, long expiresAt) {
+            this.value = value;
+            this.eTag = eTag;
+            this.expiresAt = expiresAt;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
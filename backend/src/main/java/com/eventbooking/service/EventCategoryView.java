@@ -0,0 +1,255 @@
+package com.eventbooking.service;
+
+import com.eventbooking.dto.CategoryPageDTO;
+import com.eventbooking.dto.EventDTO;
+import com.eventbooking.entity.Event;
+import com.eventbooking.repository.EventRepository;
+import com.eventbooking.util.EventCursor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-category lists of event ids sorted by (date, time, id), kept in memory and replaced copy-on-write
+ * when EventService creates, updates or deletes an event. Reads take no lock: a page is a binary search
+ * for today's first event, or for the position after the cursor, plus a slice, and the events themselves
+ * come from EventCatalogCache. Pages use the same keyset cursor as EventService.getEventPage, so an
+ * event added or removed between requests never shifts a page the way an offset would. Categories are
+ * matched case-insensitively; events without a category are not listed under any.
+ */
+@Service
+public class EventCategoryView {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final Comparator<Entry> ORDER = Comparator.<Entry, LocalDate>comparing(e -> e.date)
+            .thenComparing(e -> e.time)
+            .thenComparingLong(e -> e.id);
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventCatalogCache eventCatalogCache;
+
+    // Readers only ever see a fully built map of immutable lists.
+    private volatile Map<String, CategoryList> views = Map.of();
+
+    private final Map<Long, Entry> entriesById = new HashMap<>();
+    // The same entries grouped by category key, so a write only re-sorts the categories it touches.
+    private final Map<String, Map<Long, Entry>> entriesByCategory = new HashMap<>();
+    private Map<Long, Event> changedDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${booking.category-view.rebuild-interval-ms:600000}",
+            fixedDelayString = "${booking.category-view.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        synchronized (this) {
+            changedDuringRebuild = new HashMap<>();
+        }
+        List<Event> events = eventRepository.findAll();
+        synchronized (this) {
+            entriesById.clear();
+            entriesByCategory.clear();
+            events.forEach(event -> put(new Entry(event)));
+            // Changes made while the table was being read may be missing from it; apply them again.
+            changedDuringRebuild.forEach((eventId, event) -> {
+                if (event != null) {
+                    put(new Entry(event));
+                } else {
+                    remove(eventId);
+                }
+            });
+            changedDuringRebuild = null;
+
+            Map<String, CategoryList> rebuilt = new HashMap<>();
+            entriesByCategory.forEach((key, entries) -> rebuilt.put(key, CategoryList.of(new ArrayList<>(entries.values()))));
+            views = rebuilt;
+        }
+        System.out.println("Category view built for " + events.size() + " events");
+    }
+
+    public synchronized void index(Event event) {
+        Entry entry = new Entry(event);
+        Entry previous = put(entry);
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.put(event.getId(), event);
+        }
+        Map<String, CategoryList> updated = new HashMap<>(views);
+        if (previous != null && !previous.key.equals(entry.key)) {
+            replaceList(updated, previous.key);
+        }
+        replaceList(updated, entry.key);
+        views = updated;
+    }
+
+    public synchronized void delete(Long eventId) {
+        Entry previous = remove(eventId);
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.put(eventId, null);
+        }
+        if (previous != null) {
+            Map<String, CategoryList> updated = new HashMap<>(views);
+            replaceList(updated, previous.key);
+            views = updated;
+        }
+    }
+
+    public CategoryPageDTO getPage(String category, String cursor, int size) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new RuntimeException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Map<String, CategoryList> current = views;
+        LocalDate today = LocalDate.now();
+
+        Map<String, Integer> counts = new TreeMap<>();
+        current.values().forEach(list -> {
+            int upcoming = list.entries.size() - list.firstOnOrAfter(today);
+            if (upcoming > 0) {
+                counts.put(list.name, upcoming);
+            }
+        });
+
+        EventCursor after = cursor != null && !cursor.isBlank() ? EventCursor.decode(cursor) : null;
+        CategoryList list = current.get(key(category));
+        if (list == null) {
+            return new CategoryPageDTO(category, size, 0, List.of(), null, false, counts);
+        }
+        int first = list.firstOnOrAfter(today);
+        int total = list.entries.size() - first;
+        int from = after != null ? Math.max(first, list.firstAfter(after)) : first;
+        int to = Math.min(list.entries.size(), from + size);
+        List<EventDTO> events = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            eventCatalogCache.getEvent(list.entries.get(i).id).ifPresent(events::add);
+        }
+        boolean hasMore = to < list.entries.size();
+        String nextCursor = null;
+        if (hasMore) {
+            Entry last = list.entries.get(to - 1);
+            nextCursor = new EventCursor(last.date, last.time, last.id).encode();
+        }
+        return new CategoryPageDTO(list.name, size, total, events, nextCursor, hasMore, counts);
+    }
+
+    private Entry put(Entry entry) {
+        Entry previous = entriesById.put(entry.id, entry);
+        if (previous != null && !previous.key.equals(entry.key)) {
+            removeFromCategory(previous);
+        }
+        if (!entry.key.isEmpty()) {
+            entriesByCategory.computeIfAbsent(entry.key, k -> new HashMap<>()).put(entry.id, entry);
+        }
+        return previous;
+    }
+
+    private Entry remove(Long eventId) {
+        Entry previous = entriesById.remove(eventId);
+        if (previous != null) {
+            removeFromCategory(previous);
+        }
+        return previous;
+    }
+
+    private void removeFromCategory(Entry entry) {
+        Map<Long, Entry> entries = entriesByCategory.get(entry.key);
+        if (entries != null) {
+            entries.remove(entry.id);
+            if (entries.isEmpty()) {
+                entriesByCategory.remove(entry.key);
+            }
+        }
+    }
+
+    private void replaceList(Map<String, CategoryList> updated, String key) {
+        Map<Long, Entry> entries = entriesByCategory.get(key);
+        if (entries == null) {
+            updated.remove(key);
+        } else {
+            updated.put(key, CategoryList.of(new ArrayList<>(entries.values())));
+        }
+    }
+
+    private static String key(String category) {
+        return category == null ? "" : category.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class Entry {
+        private final long id;
+        private final LocalDate date;
+        private final LocalTime time;
+        private final String name;
+        private final String key;
+
+        Entry(Event event) {
+            this(event.getId(), event.getEventDate(), event.getEventTime(), event.getCategory());
+        }
+
+        Entry(long id, LocalDate date, LocalTime time, String category) {
+            this.id = id;
+            this.date = date;
+            this.time = time;
+            this.name = category != null ? category.trim() : null;
+            this.key = key(category);
+        }
+    }
+
+    private static class CategoryList {
+        private final String name;
+        private final List<Entry> entries;
+
+        private CategoryList(String name, List<Entry> entries) {
+            this.name = name;
+            this.entries = entries;
+        }
+
+        static CategoryList of(List<Entry> entries) {
+            entries.sort(ORDER);
+            return new CategoryList(entries.get(0).name, List.copyOf(entries));
+        }
+
+        // Index of the first event after the cursor's position.
+        int firstAfter(EventCursor cursor) {
+            Entry position = new Entry(cursor.getId(), cursor.getDate(), cursor.getTime(), null);
+            int low = 0;
+            int high = entries.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (ORDER.compare(entries.get(mid), position) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // Index of the first event on or after the given date.
+        int firstOnOrAfter(LocalDate date) {
+            int low = 0;
+            int high = entries.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (entries.get(mid).date.isBefore(date)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
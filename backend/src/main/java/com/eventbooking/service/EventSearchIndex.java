@@ -0,0 +1,243 @@
+package com.eventbooking.service;
+
+import com.eventbooking.dto.EventDTO;
+import com.eventbooking.dto.EventSearchResultDTO;
+import com.eventbooking.entity.Event;
+import com.eventbooking.repository.EventRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over event title, category, venue and description. Every query word must match
+ * a term exactly or as a prefix; matches are scored by field weight and term frequency, with prefix-only
+ * matches counting half, and ties go to the earlier event. EventService updates the index on create,
+ * update and delete; a periodic rebuild picks up changes made by other instances.
+ * Hits are resolved through EventCatalogCache so their ticket counts are as fresh as the catalog's.
+ */
+@Service
+public class EventSearchIndex {
+
+    public static final int MAX_RESULTS = 100;
+
+    private static final float TITLE_WEIGHT = 5f;
+    private static final float CATEGORY_WEIGHT = 3f;
+    private static final float VENUE_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final float PREFIX_FACTOR = 0.5f;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventCatalogCache eventCatalogCache;
+
+    // Sorted so that all terms starting with a prefix are one subMap range.
+    private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> termsByEvent = new HashMap<>();
+    private final Map<Long, LocalDate> eventDates = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, Event> changedDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${booking.search.rebuild-interval-ms:600000}",
+            fixedDelayString = "${booking.search.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<Event> events = eventRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsByEvent.clear();
+            eventDates.clear();
+            events.forEach(this::add);
+            // Changes made while the table was being read may be missing from it; apply them again.
+            changedDuringRebuild.forEach((eventId, event) -> {
+                remove(eventId);
+                if (event != null) {
+                    add(event);
+                }
+            });
+            changedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("Search index built for " + events.size() + " events");
+    }
+
+    public void index(Event event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.getId());
+            add(event);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(event.getId(), event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void delete(Long eventId) {
+        lock.writeLock().lock();
+        try {
+            remove(eventId);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(eventId, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public EventSearchResultDTO search(String query, int limit) {
+        if (limit <= 0 || limit > MAX_RESULTS) {
+            throw new RuntimeException("limit must be between 1 and " + MAX_RESULTS);
+        }
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return new EventSearchResultDTO(query, 0, List.of());
+        }
+
+        List<Long> top = new ArrayList<>();
+        int total;
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            for (String word : words) {
+                Map<Long, Float> wordScores = match(word);
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    scores.keySet().retainAll(wordScores.keySet());
+                    scores.replaceAll((eventId, score) -> score + wordScores.get(eventId));
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+            total = scores.size();
+
+            // Keep the best `limit` in a min-heap instead of sorting every match.
+            Map<Long, Float> ranked = scores;
+            Comparator<Long> order = Comparator.<Long>comparingDouble(ranked::get).reversed()
+                    .thenComparing(eventDates::get, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(Comparator.naturalOrder());
+            PriorityQueue<Long> heap = new PriorityQueue<>(limit + 1, order.reversed());
+            for (Long eventId : ranked.keySet()) {
+                heap.offer(eventId);
+                if (heap.size() > limit) {
+                    heap.poll();
+                }
+            }
+            while (!heap.isEmpty()) {
+                top.add(heap.poll());
+            }
+            top.sort(order);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<EventDTO> hits = new ArrayList<>(top.size());
+        for (Long eventId : top) {
+            eventCatalogCache.getEvent(eventId).ifPresent(hits::add);
+        }
+        return new EventSearchResultDTO(query, total, hits);
+    }
+
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("events", termsByEvent.size());
+            stats.put("terms", postings.size());
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Best score per event for one query word: exact term at full weight, longer terms at PREFIX_FACTOR.
+    private Map<Long, Float> match(String word) {
+        Map<Long, Float> scores = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Float>> term : postings.subMap(word, true, word + Character.MAX_VALUE, false).entrySet()) {
+            float factor = term.getKey().equals(word) ? 1f : PREFIX_FACTOR;
+            term.getValue().forEach((eventId, score) -> scores.merge(eventId, score * factor, Math::max));
+        }
+        return scores;
+    }
+
+    private void add(Event event) {
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, event.getTitle(), TITLE_WEIGHT);
+        addField(weights, event.getCategory(), CATEGORY_WEIGHT);
+        addField(weights, event.getVenue(), VENUE_WEIGHT);
+        addField(weights, event.getDescription(), DESCRIPTION_WEIGHT);
+
+        weights.forEach((term, weight) -> postings.computeIfAbsent(term, k -> new HashMap<>()).put(event.getId(), weight));
+        termsByEvent.put(event.getId(), weights.keySet());
+        eventDates.put(event.getId(), event.getEventDate());
+    }
+
+    private void remove(Long eventId) {
+        Set<String> terms = termsByEvent.remove(eventId);
+        eventDates.remove(eventId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Float> events = postings.get(term);
+            if (events != null) {
+                events.remove(eventId);
+                if (events.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void addField(Map<String, Float> weights, String text, float weight) {
+        for (String term : tokenize(text)) {
+            weights.merge(term, weight, Float::sum);
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -1,13 +1,20 @@
 package com.eventbooking.service;
 
+import com.eventbooking.dto.EventPageDTO;
 import com.eventbooking.dto.UpdateEventDTO;
 import com.eventbooking.entity.Event;
 import com.eventbooking.repository.EventRepository;
+import com.eventbooking.util.EventCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 public class EventService {
@@ -15,6 +22,28 @@ public class EventService {
     @Autowired
     private EventRepository eventRepository;
 
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private SeatMapService seatMapService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EventMapper eventMapper;
+
+    @Autowired
+    private EventSearchIndex eventSearchIndex;
+
+    @Autowired
+    private EventCategoryView eventCategoryView;
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final LocalDate LAST_DATE = LocalDate.of(9999, 12, 31);
+    private static final BigDecimal MAX_PRICE = new BigDecimal("99999999.99");
+
     public List<Event> getAllEvents() {
         return eventRepository.findAvailableEvents();
     }
@@ -24,11 +53,50 @@ public class EventService {
     }
 
     public Event createEvent(Event event) {
-        return eventRepository.save(event);
+        event.setHeldTickets(0);
+        Event savedEvent = eventRepository.save(event);
+        eventPublisher.publishEvent(new CatalogChangedEvent(savedEvent.getId()));
+        eventSearchIndex.index(savedEvent);
+        eventCategoryView.index(savedEvent);
+        return savedEvent;
     }
 
-    public List<Event> getEventsByCategory(String category) {
-        return eventRepository.findByCategoryOrderByEventDate(category);
+    // Upcoming events from fromDate (default today) in (date, time, id) order. The cursor is the position of
+    // the last event of the previous page; filters must stay the same while paging.
+    public EventPageDTO getEventPage(String cursor, int size, LocalDate fromDate, LocalDate toDate, String category,
+                                     BigDecimal minPrice, BigDecimal maxPrice, boolean onlyAvailable) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new RuntimeException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        LocalDate afterDate = fromDate != null ? fromDate : LocalDate.now();
+        LocalTime afterTime = LocalTime.MIN;
+        long afterId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            EventCursor position = EventCursor.decode(cursor);
+            afterDate = position.getDate();
+            afterTime = position.getTime();
+            afterId = position.getId();
+        }
+        LocalDate to = toDate != null ? toDate : LAST_DATE;
+        BigDecimal min = minPrice != null ? minPrice : BigDecimal.ZERO;
+        BigDecimal max = maxPrice != null ? maxPrice : MAX_PRICE;
+
+        // One extra row tells whether there is a next page without a COUNT.
+        List<Event> events = category == null || category.isBlank()
+                ? eventRepository.findPage(afterDate, afterTime, afterId, to, min, max, onlyAvailable, size + 1)
+                : eventRepository.findPageByCategory(category, afterDate, afterTime, afterId, to, min, max, onlyAvailable, size + 1);
+
+        boolean hasMore = events.size() > size;
+        if (hasMore) {
+            events = events.subList(0, size);
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            Event last = events.get(events.size() - 1);
+            nextCursor = new EventCursor(last.getEventDate(), last.getEventTime(), last.getId()).encode();
+        }
+        return new EventPageDTO(events.stream().map(eventMapper::toEventDTO).collect(Collectors.toList()),
+                nextCursor, hasMore);
     }
 
     public Event updateEventTickets(Long eventId, Integer ticketsSold) {
@@ -40,7 +108,9 @@ public class EventService {
         }
 
         event.setAvailableTickets(event.getAvailableTickets() - ticketsSold);
-        return eventRepository.save(event);
+        Event savedEvent = eventRepository.save(event);
+        eventPublisher.publishEvent(new CatalogChangedEvent(eventId));
+        return savedEvent;
     }
 
     public Event updateEvent(Long eventId, UpdateEventDTO updateEventDTO) {
@@ -65,14 +135,27 @@ public class EventService {
         if (updateEventDTO.getTicketPrice() != null) {
             event.setTicketPrice(updateEventDTO.getTicketPrice());
         }
+        int ticketDelta = 0;
         if (updateEventDTO.getAvailableTickets() != null) {
+            if (seatMapService.hasSeatMap(eventId)
+                    && !updateEventDTO.getAvailableTickets().equals(event.getAvailableTickets())) {
+                throw new RuntimeException("Ticket count of an assigned-seating event is set by its seat layout");
+            }
+            ticketDelta = updateEventDTO.getAvailableTickets() - event.getAvailableTickets();
             event.setAvailableTickets(updateEventDTO.getAvailableTickets());
         }
         if (updateEventDTO.getCategory() != null) {
             event.setCategory(updateEventDTO.getCategory());
         }
 
-        return eventRepository.save(event);
+        Event savedEvent = eventRepository.save(event);
+        if (ticketDelta != 0) {
+            inventoryService.adjustCapacity(eventId, ticketDelta);
+        }
+        eventPublisher.publishEvent(new CatalogChangedEvent(eventId));
+        eventSearchIndex.index(savedEvent);
+        eventCategoryView.index(savedEvent);
+        return savedEvent;
     }
 
     public void deleteEvent(Long eventId) {
@@ -80,5 +163,10 @@ public class EventService {
                 .orElseThrow(() -> new RuntimeException("Event not found with id: " + eventId));
 
         eventRepository.delete(event);
+        inventoryService.evict(eventId);
+        seatMapService.deleteLayout(eventId);
+        eventSearchIndex.delete(eventId);
+        eventCategoryView.delete(eventId);
+        eventPublisher.publishEvent(new CatalogChangedEvent(eventId));
     }
 }
@@ -0,0 +1,67 @@
+package com.eventbooking.service;
+
+import com.eventbooking.dto.HeldTicketsCheckDTO;
+import com.eventbooking.repository.EventRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compares events.held_tickets with the sum of PENDING holds in one grouped query. Read-only unless
+ * repair is requested; even then only mismatches already reported with the same values by the previous
+ * check are rewritten, and only if the counter has not moved since, so holds in flight are left alone.
+ * In memory mode the in-process counters pick the corrected row up on the next reconciliation.
+ */
+@Service
+public class HeldTicketsChecker {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private Map<Long, Long> previousMismatches = new HashMap<>();
+
+    private volatile HeldTicketsCheckDTO lastReport;
+
+    public synchronized HeldTicketsCheckDTO check(boolean repair) {
+        Instant checkedAt = Instant.now();
+        HeldTicketsCheckDTO report = new HeldTicketsCheckDTO(checkedAt);
+        Map<Long, Long> mismatches = new HashMap<>();
+
+        for (Object[] row : eventRepository.findHeldTicketMismatches()) {
+            Long eventId = ((Number) row[0]).longValue();
+            int held = ((Number) row[1]).intValue();
+            int pending = ((Number) row[2]).intValue();
+            long observed = ((long) held << 32) | (pending & 0xFFFFFFFFL);
+            mismatches.put(eventId, observed);
+
+            boolean repaired = false;
+            Long previous = previousMismatches.get(eventId);
+            if (repair && previous != null && previous == observed
+                    && eventRepository.repairHeldTickets(eventId, held, pending) == 1) {
+                repaired = true;
+                report.setEventsRepaired(report.getEventsRepaired() + 1);
+            }
+            report.getMismatches().add(new HeldTicketsCheckDTO.EventMismatch(eventId, held, pending, repaired));
+        }
+
+        report.setEventsMismatched(mismatches.size());
+        report.setDurationMs(Duration.between(checkedAt, Instant.now()).toMillis());
+        previousMismatches = mismatches;
+        lastReport = report;
+
+        if (report.getEventsMismatched() > 0) {
+            System.out.println("Held ticket check: " + report.getEventsMismatched() + " mismatched, "
+                    + report.getEventsRepaired() + " repaired");
+        }
+        return report;
+    }
+
+    public HeldTicketsCheckDTO getLastReport() {
+        return lastReport;
+    }
+}
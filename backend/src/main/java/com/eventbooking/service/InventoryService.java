@@ -0,0 +1,448 @@
+package com.eventbooking.service;
+
+import com.eventbooking.dto.InventoryReconciliationDTO;
+import com.eventbooking.entity.Event;
+import com.eventbooking.repository.EventRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-event ticket counters packed into one atomic word: unsold tickets (events.available_tickets)
+ * in the high half, tickets held by PENDING reservations (events.held_tickets) in the low half.
+ *
+ * events.held_tickets is kept current in both modes so availability is always one row. In "database"
+ * reservation mode it is also the source of truth and every change is a single conditional UPDATE,
+ * so several backend instances can share one event without overselling.
+ *
+ * Tickets freed while an event has a waitlist are set aside for the head of the queue before they can
+ * be reserved again, up to the number of tickets the head asked for. In memory mode they simply stay
+ * in the held half of the word; in database mode this instance leaves them out of its conditional
+ * UPDATEs (the waitlist itself is per instance, so other instances do not see them). Set-aside tickets
+ * are never written to events.held_tickets or the journal, only tryReserveForWaitlist can take them,
+ * and whatever the head no longer needs is released again when the demand drops.
+ */
+@Service
+public class InventoryService {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ReservationJournal journal;
+
+    private final ConcurrentHashMap<Long, EventInventory> inventories = new ConcurrentHashMap<>();
+
+    // Tickets set aside for the head of each event's waitlist, and how many the head still needs.
+    private final ConcurrentHashMap<Long, WaitlistReserve> waitlistReserves = new ConcurrentHashMap<>();
+
+    // Drift seen on the previous pass; only drift that is stable across two passes is corrected.
+    private final ConcurrentHashMap<Long, Long> pendingDrift = new ConcurrentHashMap<>();
+
+    private volatile InventoryReconciliationDTO lastReport;
+
+    @Value("${booking.reservation.mode:memory}")
+    private String reservationMode;
+
+    public boolean isDatabaseMode() {
+        return "database".equalsIgnoreCase(reservationMode);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (isDatabaseMode()) {
+            System.out.println("Reservation mode: database (cluster-safe conditional updates)");
+            return;
+        }
+        // A recovered journal replaces the table scan; reconcile() still corrects anything it missed.
+        Map<Long, int[]> recovered = journal.start();
+        if (!recovered.isEmpty()) {
+            recovered.forEach((eventId, counts) -> inventories.putIfAbsent(eventId, new EventInventory(counts[0], counts[1])));
+            System.out.println("Inventory restored from journal for " + inventories.size() + " events");
+            return;
+        }
+
+        for (Object[] row : eventRepository.findAllTicketCounts()) {
+            EventInventory inventory = new EventInventory((Integer) row[1], (Integer) row[2]);
+            if (inventories.putIfAbsent((Long) row[0], inventory) == null) {
+                journal.append(ReservationJournal.Type.SEED, (Long) row[0], (Integer) row[1], (Integer) row[2]);
+            }
+        }
+        System.out.println("Inventory seeded for " + inventories.size() + " events");
+    }
+
+    public boolean tryReserve(Long eventId, int tickets) {
+        if (isDatabaseMode()) {
+            if (eventRepository.reserveHeldTickets(eventId, tickets, setAside(eventId)) == 0) {
+                return false;
+            }
+        } else {
+            if (!inventory(eventId).tryReserve(tickets)) {
+                return false;
+            }
+            journal.append(ReservationJournal.Type.RESERVE, eventId, tickets, 0);
+        }
+        eventPublisher.publishEvent(new AvailabilityChangedEvent(eventId, tickets, AvailabilityChangedEvent.Reason.RESERVED));
+        return true;
+    }
+
+    // Like tryReserve, but for the head of the waitlist: takes the tickets set aside for it first.
+    public boolean tryReserveForWaitlist(Long eventId, int tickets) {
+        WaitlistReserve reserve = waitlistReserves.get(eventId);
+        int taken = reserve != null ? reserve.take(tickets) : 0;
+        boolean reserved;
+        if (isDatabaseMode()) {
+            reserved = eventRepository.reserveHeldTickets(eventId, tickets, setAside(eventId)) == 1;
+        } else {
+            // Taken tickets are already in the held half of the word.
+            reserved = taken == tickets || inventory(eventId).tryReserve(tickets - taken);
+            if (reserved) {
+                journal.append(ReservationJournal.Type.RESERVE, eventId, tickets, 0);
+            }
+        }
+        if (!reserved) {
+            if (taken > 0) {
+                releaseSetAside(eventId, reserve.giveBack(taken));
+            }
+            return false;
+        }
+        eventPublisher.publishEvent(new AvailabilityChangedEvent(eventId, tickets, AvailabilityChangedEvent.Reason.RESERVED));
+        return true;
+    }
+
+    // Called by WaitlistService whenever the head of an event's queue changes; 0 when the queue is empty.
+    public void setWaitlistDemand(Long eventId, int tickets) {
+        WaitlistReserve reserve = tickets > 0
+                ? waitlistReserves.computeIfAbsent(eventId, k -> new WaitlistReserve())
+                : waitlistReserves.get(eventId);
+        if (reserve != null) {
+            releaseSetAside(eventId, reserve.want(tickets));
+        }
+    }
+
+    // Persists holds counted by tryReserve. Call inside the transaction that inserts the bookings;
+    // in database mode tryReserve has already written the counter.
+    public void recordHolds(Long eventId, int tickets) {
+        if (!isDatabaseMode()) {
+            eventRepository.addHeldTickets(eventId, tickets);
+        }
+    }
+
+    // Undoes a tryReserve whose booking was never saved.
+    public void discard(Long eventId, int tickets) {
+        int kept = setAsideForWaitlist(eventId, tickets);
+        if (isDatabaseMode()) {
+            eventRepository.releaseHeldTickets(eventId, tickets);
+        }
+        released(eventId, tickets, kept);
+    }
+
+    public boolean confirm(Long eventId, int tickets) {
+        if (isDatabaseMode()) {
+            if (eventRepository.sellHeldTickets(eventId, tickets) == 0) {
+                return false;
+            }
+        } else {
+            if (eventRepository.sellTickets(eventId, tickets) == 0) {
+                return false;
+            }
+            inventory(eventId).confirm(tickets);
+            journal.append(ReservationJournal.Type.CONFIRM, eventId, tickets, 0);
+        }
+        eventPublisher.publishEvent(new AvailabilityChangedEvent(eventId, tickets, AvailabilityChangedEvent.Reason.CONFIRMED));
+        return true;
+    }
+
+    // Returns the tickets of a saved hold that has been deleted. The waitlist's share is set aside before
+    // the UPDATE, so in database mode this instance cannot hand it to a direct reservation in between.
+    public void release(Long eventId, int tickets) {
+        int kept = setAsideForWaitlist(eventId, tickets);
+        eventRepository.releaseHeldTickets(eventId, tickets);
+        released(eventId, tickets, kept);
+    }
+
+    // For callers that already took the tickets off events.held_tickets in their own statement.
+    public void heldTicketsReleased(Long eventId, int tickets) {
+        released(eventId, tickets, setAsideForWaitlist(eventId, tickets));
+    }
+
+    private void released(Long eventId, int tickets, int kept) {
+        if (!isDatabaseMode()) {
+            inventory(eventId).release(tickets - kept);
+            journal.append(ReservationJournal.Type.RELEASE, eventId, tickets, 0);
+        }
+        eventPublisher.publishEvent(new AvailabilityChangedEvent(eventId, tickets, AvailabilityChangedEvent.Reason.RELEASED));
+    }
+
+    public void restock(Long eventId, int tickets) {
+        // As in release(), the waitlist's share is set aside before the UPDATE.
+        if (isDatabaseMode()) {
+            setAsideForWaitlist(eventId, tickets);
+        }
+        eventRepository.restockTickets(eventId, tickets);
+        restocked(eventId, tickets);
+    }
+
+    // For capacity changes EventService has already written to the table.
+    public void adjustCapacity(Long eventId, int tickets) {
+        if (isDatabaseMode() && tickets > 0) {
+            setAsideForWaitlist(eventId, tickets);
+        }
+        restocked(eventId, tickets);
+    }
+
+    private void restocked(Long eventId, int tickets) {
+        EventInventory inventory = isDatabaseMode() ? null : inventories.get(eventId);
+        if (inventory != null) {
+            inventory.restock(tickets, tickets > 0 ? setAsideForWaitlist(eventId, tickets) : 0);
+            journal.append(ReservationJournal.Type.RESTOCK, eventId, tickets, 0);
+        }
+        if (tickets > 0) {
+            eventPublisher.publishEvent(new AvailabilityChangedEvent(eventId, tickets, AvailabilityChangedEvent.Reason.RESTOCKED));
+        }
+    }
+
+    public int getReservableTickets(Long eventId) {
+        if (isDatabaseMode()) {
+            int setAside = setAside(eventId);
+            return eventRepository.findById(eventId)
+                    .map(event -> Math.max(0, event.getAvailableTickets() - event.getHeldTickets() - setAside))
+                    .orElse(0);
+        }
+        long state = inventory(eventId).state.get();
+        return Math.max(0, available(state) - held(state));
+    }
+
+    // What the head of the waitlist could reserve: the reservable tickets plus those set aside for it.
+    public int getWaitlistReservableTickets(Long eventId) {
+        return getReservableTickets(eventId) + setAside(eventId);
+    }
+
+    public void evict(Long eventId) {
+        if (inventories.remove(eventId) != null) {
+            journal.append(ReservationJournal.Type.EVICT, eventId, 0, 0);
+        }
+        waitlistReserves.remove(eventId);
+        pendingDrift.remove(eventId);
+    }
+
+    private int setAside(Long eventId) {
+        WaitlistReserve reserve = waitlistReserves.get(eventId);
+        return reserve != null ? reserve.setAside() : 0;
+    }
+
+    private int setAsideForWaitlist(Long eventId, int tickets) {
+        WaitlistReserve reserve = waitlistReserves.get(eventId);
+        return reserve != null ? reserve.keep(tickets) : 0;
+    }
+
+    // Makes tickets the waitlist no longer needs reservable again.
+    private void releaseSetAside(Long eventId, int tickets) {
+        if (tickets <= 0) {
+            return;
+        }
+        if (!isDatabaseMode()) {
+            EventInventory inventory = inventories.get(eventId);
+            if (inventory != null) {
+                inventory.release(tickets);
+            }
+        }
+        eventPublisher.publishEvent(new AvailabilityChangedEvent(eventId, tickets, AvailabilityChangedEvent.Reason.RELEASED));
+    }
+
+    private EventInventory inventory(Long eventId) {
+        return inventories.computeIfAbsent(eventId, this::load);
+    }
+
+    private EventInventory load(Long eventId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new RuntimeException("Event not found"));
+        journal.append(ReservationJournal.Type.SEED, eventId, event.getAvailableTickets(), event.getHeldTickets());
+        return new EventInventory(event.getAvailableTickets(), event.getHeldTickets());
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.reconcile.interval-ms:60000}")
+    public InventoryReconciliationDTO reconcile() {
+        Instant startedAt = Instant.now();
+        InventoryReconciliationDTO report = new InventoryReconciliationDTO(startedAt);
+        if (isDatabaseMode()) {
+            lastReport = report;
+            return report;
+        }
+
+        Map<Long, Long> before = new HashMap<>();
+        inventories.forEach((eventId, inventory) -> before.put(eventId, inventory.state.get()));
+
+        Map<Long, Long> dbStates = new HashMap<>();
+        for (Object[] row : eventRepository.findAllTicketCounts()) {
+            dbStates.put((Long) row[0], pack((Integer) row[1], (Integer) row[2]));
+        }
+
+        for (Map.Entry<Long, Long> entry : before.entrySet()) {
+            Long eventId = entry.getKey();
+            long rawState = entry.getValue();
+            EventInventory inventory = inventories.get(eventId);
+
+            // Tickets set aside for the waitlist are held in memory but not in the table.
+            int setAside = setAside(eventId);
+            long memoryState = pack(available(rawState), held(rawState) - setAside);
+
+            if (inventory == null || !dbStates.containsKey(eventId)) {
+                evict(eventId);
+                continue;
+            }
+
+            report.setEventsChecked(report.getEventsChecked() + 1);
+            long dbState = dbStates.get(eventId);
+            if (dbState == memoryState) {
+                pendingDrift.remove(eventId);
+                continue;
+            }
+
+            // A reservation committed between the two reads shows up as transient drift,
+            // so only correct when the same state was already seen on the previous pass.
+            boolean corrected = false;
+            Long previous = pendingDrift.put(eventId, memoryState);
+            if (previous != null && previous == memoryState && inventory.state.compareAndSet(rawState, pack(available(dbState), held(dbState) + setAside))) {
+                journal.append(ReservationJournal.Type.SEED, eventId, available(dbState), held(dbState));
+                pendingDrift.remove(eventId);
+                corrected = true;
+                report.setEventsCorrected(report.getEventsCorrected() + 1);
+            }
+
+            report.setEventsDrifted(report.getEventsDrifted() + 1);
+            report.getDrifts().add(new InventoryReconciliationDTO.EventDrift(
+                    eventId, available(memoryState), available(dbState),
+                    held(memoryState), held(dbState), corrected));
+        }
+
+        report.setDurationMs(Duration.between(startedAt, Instant.now()).toMillis());
+        lastReport = report;
+
+        if (report.getEventsDrifted() > 0) {
+            System.out.println("Inventory reconciliation: " + report.getEventsDrifted() + " drifted, "
+                    + report.getEventsCorrected() + " corrected out of " + report.getEventsChecked() + " events");
+        }
+        return report;
+    }
+
+    public InventoryReconciliationDTO getLastReport() {
+        return lastReport;
+    }
+
+    private static long pack(int available, int held) {
+        return ((long) available << 32) | (held & 0xFFFFFFFFL);
+    }
+
+    private static int available(long state) {
+        return (int) (state >> 32);
+    }
+
+    private static int held(long state) {
+        return (int) state;
+    }
+
+    private static class EventInventory {
+        private final AtomicLong state;
+
+        EventInventory(int available, int held) {
+            this.state = new AtomicLong(pack(available, held));
+        }
+
+        boolean tryReserve(int tickets) {
+            while (true) {
+                long current = state.get();
+                int available = available(current);
+                int held = held(current);
+                if (available - held < tickets) {
+                    return false;
+                }
+                if (state.compareAndSet(current, pack(available, held + tickets))) {
+                    return true;
+                }
+            }
+        }
+
+        void confirm(int tickets) {
+            while (true) {
+                long current = state.get();
+                int held = held(current);
+                long next = pack(available(current) - tickets, Math.max(0, held - tickets));
+                if (state.compareAndSet(current, next)) {
+                    return;
+                }
+            }
+        }
+
+        void release(int tickets) {
+            while (true) {
+                long current = state.get();
+                long next = pack(available(current), Math.max(0, held(current) - tickets));
+                if (state.compareAndSet(current, next)) {
+                    return;
+                }
+            }
+        }
+
+        // Kept tickets go straight to the held half, set aside for the waitlist.
+        void restock(int tickets, int kept) {
+            while (true) {
+                long current = state.get();
+                long next = pack(available(current) + tickets, held(current) + kept);
+                if (state.compareAndSet(current, next)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static class WaitlistReserve {
+        private int wanted;
+        private int setAside;
+
+        // Sets aside as many of the freed tickets as the head still needs; returns how many.
+        synchronized int keep(int tickets) {
+            int kept = Math.max(0, Math.min(tickets, wanted - setAside));
+            setAside += kept;
+            return kept;
+        }
+
+        synchronized int take(int tickets) {
+            int taken = Math.min(tickets, setAside);
+            setAside -= taken;
+            return taken;
+        }
+
+        // Returns the set-aside tickets beyond the new demand, which the caller releases.
+        synchronized int want(int tickets) {
+            wanted = tickets;
+            int surplus = Math.max(0, setAside - wanted);
+            setAside -= surplus;
+            return surplus;
+        }
+
+        synchronized int giveBack(int tickets) {
+            setAside += tickets;
+            return want(wanted);
+        }
+
+        synchronized int setAside() {
+            return setAside;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.eventbooking.service;
+
+import com.eventbooking.exception.TooManyRequestsException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rejects reservations for an event up front, before they take an executor thread, when the event
+ * already has too many requests in flight or the recent wait means a new request would queue for
+ * longer than booking.shedding.max-wait-ms. Rejections carry a Retry-After derived from the same
+ * estimate. The wait is measured from submission until the work starts (the event lock is held, or the
+ * pipeline writer picks the request up), so it already includes the queue in front of each request and
+ * is used as the estimate as it is. Waits are smoothed per event with an exponentially weighted moving
+ * average.
+ */
+@Service
+public class LoadShedder {
+
+    private static final double EWMA_WEIGHT = 0.2;
+
+    @Value("${booking.shedding.enabled:true}")
+    private boolean enabled;
+
+    @Value("${booking.shedding.max-in-flight-per-event:64}")
+    private int maxInFlight;
+
+    @Value("${booking.shedding.max-wait-ms:2000}")
+    private long maxWaitMs;
+
+    private final ConcurrentHashMap<Long, EventLoad> loads = new ConcurrentHashMap<>();
+
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong shed = new AtomicLong();
+    private long lastAdmitted;
+    private long lastShed;
+    private volatile double recentShedRate;
+
+    public void enter(Long eventId) {
+        if (!enabled) {
+            return;
+        }
+        // compute/computeIfPresent keep the counter and the idle pruning in roll() atomic per event.
+        EventLoad load = loads.compute(eventId, (k, existing) -> {
+            EventLoad current = existing != null ? existing : new EventLoad();
+            current.inFlight.incrementAndGet();
+            return current;
+        });
+        int inFlight = load.inFlight.get();
+        double expectedWaitMs = load.ewmaWaitMs;
+
+        if (inFlight > maxInFlight || expectedWaitMs > maxWaitMs) {
+            exit(eventId);
+            load.shed.incrementAndGet();
+            shed.incrementAndGet();
+            long retryAfter = Math.max(1, Math.min(30, (long) Math.ceil(expectedWaitMs / 1000.0)));
+            throw new TooManyRequestsException(
+                    "Too many requests for this event right now. Please retry in " + retryAfter + " seconds.", retryAfter);
+        }
+        admitted.incrementAndGet();
+    }
+
+    public void exit(Long eventId) {
+        if (!enabled) {
+            return;
+        }
+        loads.computeIfPresent(eventId, (k, load) -> {
+            load.inFlight.decrementAndGet();
+            return load;
+        });
+    }
+
+    public void recordLockWait(Long eventId, long waitNanos) {
+        if (!enabled) {
+            return;
+        }
+        EventLoad load = loads.get(eventId);
+        if (load != null) {
+            double waitMs = TimeUnit.NANOSECONDS.toMicros(waitNanos) / 1000.0;
+            load.ewmaWaitMs = load.ewmaWaitMs + EWMA_WEIGHT * (waitMs - load.ewmaWaitMs);
+        }
+    }
+
+    // Shed rate over the last interval, and drops events with nothing in flight.
+    @Scheduled(fixedRate = 10000)
+    public void roll() {
+        long currentAdmitted = admitted.get();
+        long currentShed = shed.get();
+        long admittedDelta = currentAdmitted - lastAdmitted;
+        long shedDelta = currentShed - lastShed;
+        recentShedRate = admittedDelta + shedDelta == 0 ? 0 : (double) shedDelta / (admittedDelta + shedDelta);
+        lastAdmitted = currentAdmitted;
+        lastShed = currentShed;
+
+        for (Long eventId : loads.keySet()) {
+            loads.computeIfPresent(eventId, (k, load) -> {
+                if (load.inFlight.get() > 0) {
+                    return load;
+                }
+                // Let the wait estimate of an idle event decay so it is not shed on stale data.
+                load.ewmaWaitMs = load.ewmaWaitMs * (1 - EWMA_WEIGHT);
+                return load.ewmaWaitMs < 1 ? null : load;
+            });
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("maxInFlightPerEvent", maxInFlight);
+        stats.put("maxWaitMs", maxWaitMs);
+        stats.put("admitted", admitted.get());
+        stats.put("shed", shed.get());
+        stats.put("recentShedRate", recentShedRate);
+
+        List<Map<String, Object>> events = new ArrayList<>();
+        loads.entrySet().stream()
+                .sorted(Comparator.comparingInt((Map.Entry<Long, EventLoad> e) -> e.getValue().inFlight.get()).reversed())
+                .limit(20)
+                .forEach(entry -> {
+                    Map<String, Object> event = new HashMap<>();
+                    event.put("eventId", entry.getKey());
+                    event.put("inFlight", entry.getValue().inFlight.get());
+                    event.put("lockWaitMs", entry.getValue().ewmaWaitMs);
+                    event.put("shed", entry.getValue().shed.get());
+                    events.add(event);
+                });
+        stats.put("events", events);
+        return stats;
+    }
+
+    private static class EventLoad {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong shed = new AtomicLong();
+        private volatile double ewmaWaitMs;
+    }
+}
@@ -0,0 +1,20 @@
+package com.eventbooking.service;
+
+import com.eventbooking.entity.OutboxMessage;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class LogOutboxSink implements OutboxSink {
+
+    @Override
+    public String getName() {
+        return "log";
+    }
+
+    @Override
+    public void deliver(OutboxMessage message) {
+        System.out.println("Outbox " + message.getId() + " " + message.getMessageType() + " booking "
+                + message.getBookingId() + ": " + message.getPayload());
+    }
+}
@@ -0,0 +1,246 @@
+package com.eventbooking.service;
+
+import com.eventbooking.entity.Booking;
+import com.eventbooking.entity.OutboxMessage;
+import com.eventbooking.repository.OutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Transactional outbox for booking side effects (confirmation emails, analytics, partner callbacks).
+ * BookingService only inserts a row in its own transaction; a scheduled dispatcher claims pending rows in
+ * batches with FOR UPDATE SKIP LOCKED, so several instances can dispatch without handing out a row twice.
+ * The claim pushes next_attempt_at out by booking.outbox.claim-lease-seconds and commits straight away, so
+ * the enabled OutboxSinks run with no transaction, row lock or connection held; a second short transaction
+ * records the outcome. A dispatcher that dies mid-batch leaves its rows to be claimed again when the lease
+ * runs out. Each message remembers which sinks have accepted it, and only the others are retried, with
+ * exponential backoff, until booking.outbox.max-attempts is reached and the message is marked failed.
+ */
+@Service
+public class OutboxService {
+
+    public static final String BOOKING_CONFIRMED = "BOOKING_CONFIRMED";
+    public static final String BOOKING_CANCELLED = "BOOKING_CANCELLED";
+
+    private static final long MAX_BACKOFF_SECONDS = 300;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private List<OutboxSink> sinks;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${booking.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${booking.outbox.sinks:log,events}")
+    private Set<String> enabledSinks;
+
+    @Value("${booking.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${booking.outbox.max-batches-per-poll:10}")
+    private int maxBatchesPerPoll;
+
+    @Value("${booking.outbox.retention-hours:24}")
+    private int retentionHours;
+
+    @Value("${booking.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${booking.outbox.claim-lease-seconds:60}")
+    private long claimLeaseSeconds;
+
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong windowDispatched = new AtomicLong();
+    private volatile long lastLagMs;
+    private volatile long maxLagMs;
+    private volatile long windowStartedAt = System.currentTimeMillis();
+    private volatile double recentPerSecond;
+
+    // Must join the caller's transaction: the message commits or rolls back with the booking change.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String messageType, Booking booking) {
+        if (!enabled) {
+            return;
+        }
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("bookingId", booking.getId());
+        payload.put("bookingReference", booking.getBookingReference());
+        payload.put("status", booking.getStatus());
+        payload.put("userId", booking.getUser().getId());
+        payload.put("email", booking.getUser().getEmail());
+        payload.put("eventId", booking.getEvent().getId());
+        payload.put("eventTitle", booking.getEvent().getTitle());
+        payload.put("ticketCount", booking.getTicketCount());
+        payload.put("totalAmount", booking.getTotalAmount());
+        payload.put("seatNumbers", booking.getSeatNumbers());
+        try {
+            outboxRepository.save(new OutboxMessage(messageType, booking.getId(), objectMapper.writeValueAsString(payload)));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize outbox message: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.outbox.poll-interval-ms:500}")
+    public void dispatch() {
+        if (!enabled) {
+            return;
+        }
+        for (int i = 0; i < maxBatchesPerPoll; i++) {
+            List<OutboxMessage> batch;
+            try {
+                batch = transactionTemplate.execute(status -> claimBatch());
+            } catch (Exception e) {
+                System.err.println("Outbox dispatch failed: " + e.getMessage());
+                return;
+            }
+            if (batch == null || batch.isEmpty()) {
+                return;
+            }
+            deliver(batch);
+            try {
+                transactionTemplate.execute(status -> recordOutcomes(batch));
+            } catch (Exception e) {
+                // The lease still covers these rows; they are delivered again once it runs out.
+                System.err.println("Outbox: failed to record delivery of " + batch.size() + " messages: " + e.getMessage());
+                return;
+            }
+            if (batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private List<OutboxMessage> claimBatch() {
+        Instant now = Instant.now();
+        List<OutboxMessage> batch = outboxRepository.claimBatch(now, batchSize);
+        Instant leaseEnd = now.plusSeconds(claimLeaseSeconds);
+        batch.forEach(message -> message.setNextAttemptAt(leaseEnd));
+        return batch;
+    }
+
+    // Runs outside any transaction: a slow sink or listener delays this dispatcher but blocks nobody else.
+    private void deliver(List<OutboxMessage> batch) {
+        Instant now = Instant.now();
+        for (OutboxMessage message : batch) {
+            Set<String> delivered = message.getDeliveredSinks() == null ? new LinkedHashSet<>()
+                    : new LinkedHashSet<>(Arrays.asList(message.getDeliveredSinks().split(",")));
+            try {
+                for (OutboxSink sink : sinks) {
+                    if (enabledSinks.contains(sink.getName()) && !delivered.contains(sink.getName())) {
+                        sink.deliver(message);
+                        delivered.add(sink.getName());
+                    }
+                }
+                Instant deliveredAt = Instant.now();
+                message.setDispatchedAt(deliveredAt);
+                message.setNextAttemptAt(null);
+                message.setLastError(null);
+                recordLag(Duration.between(message.getCreatedAt(), deliveredAt).toMillis());
+                dispatched.incrementAndGet();
+                windowDispatched.incrementAndGet();
+            } catch (Exception e) {
+                int attempts = message.getAttempts() + 1;
+                message.setAttempts(attempts);
+                String error = String.valueOf(e.getMessage());
+                message.setLastError(error.length() > 255 ? error.substring(0, 255) : error);
+                failed.incrementAndGet();
+                if (attempts >= maxAttempts) {
+                    message.setFailedAt(now);
+                    message.setNextAttemptAt(null);
+                    System.err.println("Outbox message " + message.getId() + " failed after " + attempts
+                            + " attempts and will not be retried: " + e.getMessage());
+                } else {
+                    message.setNextAttemptAt(now.plusSeconds(Math.min(MAX_BACKOFF_SECONDS, 1L << Math.min(attempts, 20))));
+                    System.err.println("Outbox message " + message.getId() + " failed (attempt " + attempts + "): "
+                            + e.getMessage());
+                }
+            }
+            message.setDeliveredSinks(delivered.isEmpty() ? null : String.join(",", delivered));
+        }
+    }
+
+    // One SELECT for the batch; the changes go out as batched UPDATEs at commit.
+    private Integer recordOutcomes(List<OutboxMessage> batch) {
+        Map<Long, OutboxMessage> outcomes = batch.stream().collect(Collectors.toMap(OutboxMessage::getId, message -> message));
+        List<OutboxMessage> stored = outboxRepository.findAllById(outcomes.keySet());
+        for (OutboxMessage message : stored) {
+            OutboxMessage outcome = outcomes.get(message.getId());
+            message.setDispatchedAt(outcome.getDispatchedAt());
+            message.setNextAttemptAt(outcome.getNextAttemptAt());
+            message.setAttempts(outcome.getAttempts());
+            message.setLastError(outcome.getLastError());
+            message.setDeliveredSinks(outcome.getDeliveredSinks());
+            message.setFailedAt(outcome.getFailedAt());
+        }
+        return stored.size();
+    }
+
+    private void recordLag(long lagMs) {
+        lastLagMs = lagMs;
+        if (lagMs > maxLagMs) {
+            maxLagMs = lagMs;
+        }
+    }
+
+    @Scheduled(fixedRate = 10000)
+    public void roll() {
+        long now = System.currentTimeMillis();
+        long elapsed = Math.max(1, now - windowStartedAt);
+        recentPerSecond = windowDispatched.getAndSet(0) * 1000.0 / elapsed;
+        windowStartedAt = now;
+        maxLagMs = lastLagMs;
+    }
+
+    @Scheduled(fixedRate = 3600000)
+    public void purgeDispatched() {
+        int removed = outboxRepository.deleteDispatchedBefore(Instant.now().minus(Duration.ofHours(retentionHours)));
+        if (removed > 0) {
+            System.out.println("Outbox: purged " + removed + " dispatched messages");
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("sinks", sinks.stream().map(OutboxSink::getName).filter(enabledSinks::contains).collect(Collectors.toList()));
+        stats.put("dispatched", dispatched.get());
+        stats.put("failedAttempts", failed.get());
+        stats.put("recentPerSecond", recentPerSecond);
+        stats.put("lastLagMs", lastLagMs);
+        stats.put("recentMaxLagMs", maxLagMs);
+        stats.put("maxAttempts", maxAttempts);
+        stats.put("pending", outboxRepository.countPending());
+        stats.put("failed", outboxRepository.countFailed());
+        Instant oldest = outboxRepository.findOldestPendingCreatedAt();
+        stats.put("oldestPendingAgeMs", oldest != null ? Duration.between(oldest, Instant.now()).toMillis() : 0);
+        return stats;
+    }
+}
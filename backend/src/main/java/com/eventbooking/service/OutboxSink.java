@@ -0,0 +1,15 @@
+package com.eventbooking.service;
+
+import com.eventbooking.entity.OutboxMessage;
+
+/**
+ * Destination for outbox messages. Delivery is at-least-once: only sinks that have not yet accepted a
+ * message are retried, but a crash between delivery and commit repeats it, so sinks must tolerate seeing
+ * the same message id twice.
+ */
+public interface OutboxSink {
+
+    String getName();
+
+    void deliver(OutboxMessage message);
+}
@@ -0,0 +1,100 @@
+package com.eventbooking.service;
+
+import com.eventbooking.entity.Booking;
+import com.eventbooking.repository.BookingRepository;
+import com.eventbooking.util.ReferenceGenerator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Persists holds that have already been counted in InventoryService: all of them in one transaction,
+ * falling back to one transaction per hold if the group fails. The events.held_tickets counter is
+ * bumped in the same transaction as the rows, and inventory is discarded for any hold that cannot be saved.
+ */
+@Service
+public class ReservationBatchWriter {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ReservationExpiryService reservationExpiryService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ReferenceGenerator referenceGenerator;
+
+    public void saveHolds(List<Booking> holds, BiConsumer<Integer, Booking> onSaved,
+                          BiConsumer<Integer, Exception> onFailed) {
+        if (holds.isEmpty()) {
+            return;
+        }
+        holds.forEach(this::assignReference);
+
+        List<Booking> saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                Map<Long, Integer> ticketsByEvent = new HashMap<>();
+                holds.forEach(hold -> ticketsByEvent.merge(hold.getEvent().getId(), hold.getTicketCount(), Integer::sum));
+                ticketsByEvent.forEach(inventoryService::recordHolds);
+                return bookingRepository.saveAll(holds);
+            });
+        } catch (Exception e) {
+            System.err.println("Group commit of " + holds.size() + " holds failed, retrying individually: "
+                    + e.getMessage());
+            for (int i = 0; i < holds.size(); i++) {
+                saveSingle(i, holds.get(i), onSaved, onFailed);
+            }
+            return;
+        }
+
+        for (int i = 0; i < saved.size(); i++) {
+            reservationExpiryService.schedule(saved.get(i));
+            onSaved.accept(i, saved.get(i));
+        }
+    }
+
+    public Booking saveHold(Booking hold) {
+        assignReference(hold);
+        Booking saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                inventoryService.recordHolds(hold.getEvent().getId(), hold.getTicketCount());
+                return bookingRepository.save(hold);
+            });
+        } catch (RuntimeException e) {
+            inventoryService.discard(hold.getEvent().getId(), hold.getTicketCount());
+            throw e;
+        }
+        reservationExpiryService.schedule(saved);
+        return saved;
+    }
+
+    private void saveSingle(int index, Booking hold, BiConsumer<Integer, Booking> onSaved,
+                            BiConsumer<Integer, Exception> onFailed) {
+        try {
+            hold.setId(null);
+            onSaved.accept(index, saveHold(hold));
+        } catch (Exception e) {
+            onFailed.accept(index, e);
+        }
+    }
+
+    private void assignReference(Booking hold) {
+        if (hold.getBookingReference() == null) {
+            hold.setBookingReference(referenceGenerator.nextReference());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.eventbooking.service;
+
+/**
+ * Published when a pending reservation is confirmed or cancelled, so anything tracking the open hold
+ * (such as a waitlist offer) can drop it once the change is committed.
+ */
+public class ReservationClosedEvent {
+
+    private final Long eventId;
+    private final Long reservationId;
+
+    public ReservationClosedEvent(Long eventId, Long reservationId) {
+        this.eventId = eventId;
+        this.reservationId = reservationId;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public Long getReservationId() {
+        return reservationId;
+    }
+}
@@ -0,0 +1,174 @@
+package com.eventbooking.service;
+
+import com.eventbooking.entity.Booking;
+import com.eventbooking.repository.BookingRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Releases each hold as soon as its reservationExpiry passes instead of waiting for the periodic sweep.
+ * Deletes are conditional on the row still being an expired PENDING hold, so confirm/cancel races and
+ * other instances expiring the same hold are harmless.
+ */
+@Service
+public class ReservationExpiryService {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private SeatMapService seatMapService;
+
+    private final DelayQueue<ExpiringHold> holds = new DelayQueue<>();
+
+    private volatile Thread worker;
+
+    @Value("${booking.expiry.batch-size:1000}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (Object[] row : bookingRepository.findPendingHolds()) {
+            Instant expiry = (Instant) row[3];
+            holds.add(new ExpiringHold((Long) row[0], (Long) row[1], (Integer) row[2],
+                    expiry != null ? expiry : Instant.now(), (String) row[4]));
+        }
+        System.out.println("Reservation expiry scheduler loaded " + holds.size() + " pending holds");
+
+        worker = new Thread(this::run, "ReservationExpiry");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    public void schedule(Booking reservation) {
+        holds.add(new ExpiringHold(reservation.getId(), reservation.getEvent().getId(),
+                reservation.getTicketCount(), reservation.getReservationExpiry(), reservation.getSeatNumbers()));
+    }
+
+    public boolean expire(Long reservationId, Long eventId, int ticketCount, String seatNumbers) {
+        if (bookingRepository.expireHoldById(reservationId, Instant.now()) == 0) {
+            return false;
+        }
+        inventoryService.heldTicketsReleased(eventId, ticketCount);
+        seatMapService.release(eventId, seatNumbers);
+        return true;
+    }
+
+    // Safety net for holds this instance never scheduled (e.g. created by an instance that went away).
+    // Each batch is one statement (delete plus held_tickets decrement); SKIP LOCKED lets several instances sweep at once.
+    @Scheduled(fixedRateString = "${booking.expiry.sweep-interval-ms:600000}")
+    public void sweepExpiredHolds() {
+        int total = 0;
+        int batch = 0;
+        while (true) {
+            long started = System.nanoTime();
+            List<Object[]> released;
+            try {
+                released = bookingRepository.deleteExpiredHoldBatch(Instant.now(), batchSize);
+            } catch (Exception e) {
+                System.err.println("Expired hold sweep failed: " + e.getMessage());
+                return;
+            }
+
+            int rows = 0;
+            for (Object[] row : released) {
+                Long eventId = ((Number) row[0]).longValue();
+                inventoryService.heldTicketsReleased(eventId, ((Number) row[1]).intValue());
+                seatMapService.release(eventId, (String) row[3]);
+                rows += ((Number) row[2]).intValue();
+            }
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+            if (rows == 0) {
+                break;
+            }
+            batch++;
+            total += rows;
+            System.out.println("Expired hold sweep batch " + batch + ": " + rows + " rows across "
+                    + released.size() + " events in " + elapsedMs + " ms");
+            if (rows < batchSize) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            System.out.println("Expired hold sweep removed " + total + " reservations in " + batch + " batches");
+        }
+    }
+
+    private void run() {
+        List<ExpiringHold> due = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                due.add(holds.take());
+                holds.drainTo(due);
+
+                int expired = 0;
+                for (ExpiringHold hold : due) {
+                    try {
+                        if (expire(hold.reservationId, hold.eventId, hold.ticketCount, hold.seatNumbers)) {
+                            expired++;
+                        }
+                    } catch (Exception e) {
+                        System.err.println("Failed to expire reservation " + hold.reservationId + ": " + e.getMessage());
+                    }
+                }
+                if (expired > 0) {
+                    System.out.println("Expired " + expired + " reservations");
+                }
+                due.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static class ExpiringHold implements Delayed {
+        private final Long reservationId;
+        private final Long eventId;
+        private final int ticketCount;
+        private final long expiresAtMillis;
+        private final String seatNumbers;
+
+        ExpiringHold(Long reservationId, Long eventId, int ticketCount, Instant expiry, String seatNumbers) {
+            this.reservationId = reservationId;
+            this.eventId = eventId;
+            this.ticketCount = ticketCount;
+            this.expiresAtMillis = expiry.toEpochMilli();
+            this.seatNumbers = seatNumbers;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiresAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiresAtMillis, ((ExpiringHold) other).expiresAtMillis);
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package com.eventbooking.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of inventory counter changes in memory-mapped segment files, plus periodic
+ * snapshots. On restart the latest snapshot plus the records after it give back the counters without
+ * reading the database.
+ *
+ * Records are fixed 40-byte entries: seq, timestamp, eventId, type, two int values and a CRC32 of the
+ * rest. SEED records carry absolute (available, held); the others carry a ticket delta. Record seq n lives
+ * in a fixed slot, so appenders only take a sequence number and write their own slot: they share a read
+ * stamp and never wait for each other. A snapshot takes the write stamp for as long as it needs to copy
+ * the counters, which makes the copy match the journal position exactly.
+ *
+ * Replay stops at the first slot that is empty, torn or fails its checksum. Recovery then writes a new
+ * snapshot and starts from empty segments, and a journal that fails while running deletes its files, so a
+ * later start never trusts a journal that stopped recording.
+ */
+@Service
+public class ReservationJournal {
+
+    public enum Type {
+        SEED, RESERVE, CONFIRM, RELEASE, RESTOCK, EVICT
+    }
+
+    private static final int RECORD_BYTES = 40;
+    private static final int CHECKSUMMED_BYTES = RECORD_BYTES - 4;
+    private static final String SNAPSHOT = "snapshot.bin";
+
+    @Value("${booking.journal.enabled:false}")
+    private boolean enabled;
+
+    @Value("${booking.journal.dir:./data/journal}")
+    private String directory;
+
+    @Value("${booking.journal.segment-mb:64}")
+    private int segmentMb;
+
+    // eventId -> (available << 32 | held), updated lock-free like InventoryService's counters.
+    private final ConcurrentHashMap<Long, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Segment> segments = new ConcurrentHashMap<>();
+    private final AtomicLong lastSeq = new AtomicLong();
+    private final StampedLock snapshotLock = new StampedLock();
+    private Path dir;
+    private long recordsPerSegment;
+    private volatile long snapshotSeq;
+    private volatile boolean started;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Recovers counters from the snapshot and journal tail, then snapshots them and starts empty segments.
+    // Returns eventId -> {available, held}; empty when there is nothing to recover.
+    public synchronized Map<Long, int[]> start() {
+        if (!enabled || started) {
+            return Map.of();
+        }
+        long startedAt = System.nanoTime();
+        int replayed;
+        try {
+            dir = Paths.get(directory);
+            Files.createDirectories(dir);
+            recordsPerSegment = (long) segmentMb * 1024 * 1024 / RECORD_BYTES;
+            loadSnapshot();
+            replayed = replaySegments();
+            // Anything after the first bad slot is unusable; begin a clean journal at the recovered position.
+            writeSnapshot(copyCounters(), lastSeq.get());
+            deleteSegments(Long.MAX_VALUE);
+            started = true;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Reservation journal unavailable, continuing without it: " + e.getMessage());
+            counters.clear();
+            invalidate();
+            return Map.of();
+        }
+        System.out.println("Reservation journal recovered " + counters.size() + " events (" + replayed
+                + " records after snapshot) in " + (System.nanoTime() - startedAt) / 1_000_000 + " ms");
+
+        Map<Long, int[]> recovered = new HashMap<>();
+        counters.forEach((eventId, state) -> recovered.put(eventId, new int[]{available(state.get()), held(state.get())}));
+        return recovered;
+    }
+
+    public void append(Type type, Long eventId, int first, int second) {
+        if (!started) {
+            return;
+        }
+        long stamp = snapshotLock.readLock();
+        try {
+            long seq = lastSeq.incrementAndGet();
+            long slot = seq - 1;
+            Segment segment = segments.computeIfAbsent(slot / recordsPerSegment, this::mapSegment);
+            writeRecord(segment.buffer, (int) ((slot % recordsPerSegment) * RECORD_BYTES),
+                    seq, eventId, type, first, second);
+            apply(type, eventId, first, second);
+        } catch (RuntimeException e) {
+            System.err.println("Reservation journal append failed, disabling journal: " + e.getMessage());
+            started = false;
+        } finally {
+            snapshotLock.unlockRead(stamp);
+        }
+        if (!started) {
+            invalidate();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.journal.snapshot-interval-ms:60000}")
+    public synchronized void snapshot() {
+        if (!started || lastSeq.get() == snapshotSeq) {
+            return;
+        }
+        Map<Long, Long> copy;
+        long seq;
+        long stamp = snapshotLock.writeLock();
+        try {
+            copy = copyCounters();
+            seq = lastSeq.get();
+        } finally {
+            snapshotLock.unlockWrite(stamp);
+        }
+        try {
+            writeSnapshot(copy, seq);
+            // Segments whose every slot is covered by the snapshot are no longer needed.
+            deleteSegments(seq / recordsPerSegment);
+        } catch (IOException e) {
+            System.err.println("Reservation journal snapshot failed: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        snapshot();
+        synchronized (this) {
+            started = false;
+            segments.values().forEach(Segment::close);
+            segments.clear();
+        }
+    }
+
+    // Removes the snapshot and segments so that a journal which missed changes is never recovered.
+    private synchronized void invalidate() {
+        if (dir == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(dir.resolve(SNAPSHOT));
+            segments.values().forEach(Segment::close);
+            segments.clear();
+            for (Path path : listSegments()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to delete reservation journal files in " + dir + ": " + e.getMessage());
+        }
+    }
+
+    private void apply(Type type, Long eventId, int first, int second) {
+        if (type == Type.SEED) {
+            counters.put(eventId, new AtomicLong(pack(first, second)));
+            return;
+        }
+        if (type == Type.EVICT) {
+            counters.remove(eventId);
+            return;
+        }
+        AtomicLong state = counters.get(eventId);
+        if (state == null) {
+            return;
+        }
+        state.updateAndGet(current -> {
+            int available = available(current);
+            int held = held(current);
+            return switch (type) {
+                case RESERVE -> pack(available, held + first);
+                case CONFIRM -> pack(available - first, Math.max(0, held - first));
+                case RELEASE -> pack(available, Math.max(0, held - first));
+                case RESTOCK -> pack(available + first, held);
+                default -> current;
+            };
+        });
+    }
+
+    private static void writeRecord(MappedByteBuffer buffer, int offset, long seq, long eventId, Type type,
+                                    int first, int second) {
+        buffer.putLong(offset + 8, System.currentTimeMillis());
+        buffer.putLong(offset + 16, eventId);
+        buffer.putInt(offset + 24, type.ordinal());
+        buffer.putInt(offset + 28, first);
+        buffer.putInt(offset + 32, second);
+        buffer.putLong(offset, seq);
+        buffer.putInt(offset + CHECKSUMMED_BYTES, checksum(buffer, offset));
+    }
+
+    private static int checksum(MappedByteBuffer buffer, int offset) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, CHECKSUMMED_BYTES));
+        return (int) crc.getValue();
+    }
+
+    private Map<Long, Long> copyCounters() {
+        Map<Long, Long> copy = new HashMap<>();
+        counters.forEach((eventId, state) -> copy.put(eventId, state.get()));
+        return copy;
+    }
+
+    private void writeSnapshot(Map<Long, Long> copy, long seq) throws IOException {
+        Path temp = dir.resolve(SNAPSHOT + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeLong(seq);
+            out.writeInt(copy.size());
+            for (Map.Entry<Long, Long> entry : copy.entrySet()) {
+                out.writeLong(entry.getKey());
+                out.writeInt(available(entry.getValue()));
+                out.writeInt(held(entry.getValue()));
+            }
+        }
+        Files.move(temp, dir.resolve(SNAPSHOT), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        snapshotSeq = seq;
+    }
+
+    private void loadSnapshot() throws IOException {
+        Path file = dir.resolve(SNAPSHOT);
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            long seq = in.readLong();
+            int events = in.readInt();
+            for (int i = 0; i < events; i++) {
+                counters.put(in.readLong(), new AtomicLong(pack(in.readInt(), in.readInt())));
+            }
+            snapshotSeq = seq;
+            lastSeq.set(seq);
+        }
+    }
+
+    // Applies slots after the snapshot in sequence order and stops at the first one that is not a complete
+    // record for exactly that sequence number.
+    private int replaySegments() throws IOException {
+        int replayed = 0;
+        Type[] types = Type.values();
+        for (Path path : listSegments()) {
+            long firstSeq = Long.parseLong(path.getFileName().toString().replaceAll("\\D", ""));
+            try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+                for (int offset = 0; offset + RECORD_BYTES <= buffer.limit(); offset += RECORD_BYTES) {
+                    long expected = firstSeq + offset / RECORD_BYTES;
+                    if (expected <= lastSeq.get()) {
+                        continue;
+                    }
+                    if (expected != lastSeq.get() + 1) {
+                        return replayed;
+                    }
+                    int type = buffer.getInt(offset + 24);
+                    if (buffer.getLong(offset) != expected || type < 0 || type >= types.length
+                            || buffer.getInt(offset + CHECKSUMMED_BYTES) != checksum(buffer, offset)) {
+                        return replayed;
+                    }
+                    apply(types[type], buffer.getLong(offset + 16), buffer.getInt(offset + 28), buffer.getInt(offset + 32));
+                    lastSeq.set(expected);
+                    replayed++;
+                }
+            }
+        }
+        return replayed;
+    }
+
+    // Segments are named by their first sequence number, so name order is replay order.
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".seg"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    // Deletes the segments with an index below the given one, open or not.
+    private void deleteSegments(long belowIndex) throws IOException {
+        segments.entrySet().removeIf(entry -> {
+            if (entry.getKey() < belowIndex) {
+                entry.getValue().close();
+                return true;
+            }
+            return false;
+        });
+        for (Path path : listSegments()) {
+            long firstSeq = Long.parseLong(path.getFileName().toString().replaceAll("\\D", ""));
+            if (belowIndex == Long.MAX_VALUE || (firstSeq - 1) / recordsPerSegment < belowIndex) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private Segment mapSegment(long index) {
+        Path path = dir.resolve(String.format("journal-%020d.seg", index * recordsPerSegment + 1));
+        try {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, recordsPerSegment * RECORD_BYTES));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long pack(int available, int held) {
+        return ((long) available << 32) | (held & 0xFFFFFFFFL);
+    }
+
+    private static int available(long state) {
+        return (int) (state >> 32);
+    }
+
+    private static int held(long state) {
+        return (int) state;
+    }
+
+    private static class Segment {
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        Segment(FileChannel channel, MappedByteBuffer buffer) {
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        void close() {
+            buffer.force();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close journal segment: " + e.getMessage());
+            }
+        }
+    }
+}
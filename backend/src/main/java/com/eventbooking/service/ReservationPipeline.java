@@ -0,0 +1,184 @@
+package com.eventbooking.service;
+
+import com.eventbooking.entity.Booking;
+import com.eventbooking.entity.BookingStatus;
+import com.eventbooking.entity.Event;
+import com.eventbooking.entity.User;
+import com.eventbooking.repository.EventRepository;
+import com.eventbooking.repository.UserRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Routes reservations for an event to a single writer that drains them in batches: availability is
+ * checked against InventoryService and all accepted holds are inserted through ReservationBatchWriter,
+ * so a hot event pays one commit per batch instead of one per request.
+ */
+@Service
+public class ReservationPipeline {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ReservationBatchWriter reservationBatchWriter;
+
+    @Autowired
+    private LoadShedder loadShedder;
+
+    @Autowired
+    @Qualifier("pipelineExecutor")
+    private Executor pipelineExecutor;
+
+    @Value("${booking.pipeline.enabled:false}")
+    private boolean enabled;
+
+    @Value("${booking.pipeline.batch-size:200}")
+    private int batchSize;
+
+    private final ConcurrentHashMap<Long, EventWriter> writers = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CompletableFuture<Booking> submit(Long userId, Long eventId, Integer ticketCount) {
+        PendingReservation pending = new PendingReservation(userId, ticketCount);
+        writers.computeIfAbsent(eventId, EventWriter::new).enqueue(pending);
+        return pending.result;
+    }
+
+    // An idle writer that is removed while a request is being enqueued still runs that request,
+    // so pruning only ever costs a second writer for the same event for one batch.
+    @Scheduled(fixedRate = 300000)
+    public void pruneIdleWriters() {
+        writers.values().removeIf(EventWriter::isIdle);
+    }
+
+    private void writeBatch(Long eventId, List<PendingReservation> batch) {
+        Optional<Event> event;
+        Map<Long, User> users = new HashMap<>();
+        try {
+            event = eventRepository.findById(eventId);
+            List<Long> userIds = batch.stream().map(p -> p.userId).distinct().toList();
+            userRepository.findAllById(userIds).forEach(user -> users.put(user.getId(), user));
+        } catch (Exception e) {
+            batch.forEach(p -> p.result.completeExceptionally(e));
+            return;
+        }
+
+        if (event.isEmpty()) {
+            batch.forEach(p -> p.result.completeExceptionally(new RuntimeException("Event not found")));
+            return;
+        }
+
+        Instant expiryTime = Instant.now().plus(5, ChronoUnit.MINUTES);
+        List<PendingReservation> accepted = new ArrayList<>(batch.size());
+        List<Booking> holds = new ArrayList<>(batch.size());
+        for (PendingReservation pending : batch) {
+            User user = users.get(pending.userId);
+            if (user == null) {
+                pending.result.completeExceptionally(new RuntimeException("User not found"));
+                continue;
+            }
+            if (!inventoryService.tryReserve(eventId, pending.ticketCount)) {
+                int available = inventoryService.getReservableTickets(eventId);
+                pending.result.completeExceptionally(new RuntimeException(
+                        "Not enough tickets available. Available: " + available + ", Requested: " + pending.ticketCount));
+                continue;
+            }
+
+            Booking reservation = new Booking(user, event.get(), pending.ticketCount);
+            reservation.setStatus(BookingStatus.PENDING);
+            reservation.setIsReserved(true);
+            reservation.setReservationExpiry(expiryTime);
+            accepted.add(pending);
+            holds.add(reservation);
+        }
+
+        reservationBatchWriter.saveHolds(holds,
+                (i, saved) -> accepted.get(i).result.complete(saved),
+                (i, e) -> accepted.get(i).result.completeExceptionally(e));
+    }
+
+    private static class PendingReservation {
+        private final Long userId;
+        private final Integer ticketCount;
+        private final long submitted = System.nanoTime();
+        private final CompletableFuture<Booking> result = new CompletableFuture<>();
+
+        PendingReservation(Long userId, Integer ticketCount) {
+            this.userId = userId;
+            this.ticketCount = ticketCount;
+        }
+    }
+
+    private class EventWriter implements Runnable {
+        private final Long eventId;
+        private final ConcurrentLinkedQueue<PendingReservation> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        EventWriter(Long eventId) {
+            this.eventId = eventId;
+        }
+
+        void enqueue(PendingReservation pending) {
+            queue.add(pending);
+            if (scheduled.compareAndSet(false, true)) {
+                pipelineExecutor.execute(this);
+            }
+        }
+
+        boolean isIdle() {
+            return queue.isEmpty() && !scheduled.get();
+        }
+
+        @Override
+        public void run() {
+            List<PendingReservation> batch = new ArrayList<>(batchSize);
+            try {
+                PendingReservation next;
+                while (batch.size() < batchSize && (next = queue.poll()) != null) {
+                    batch.add(next);
+                }
+                if (!batch.isEmpty()) {
+                    // The oldest request's wait is what the shedder estimates for a new one.
+                    loadShedder.recordLockWait(eventId, System.nanoTime() - batch.get(0).submitted);
+                    writeBatch(eventId, batch);
+                }
+            } catch (Exception e) {
+                System.err.println("Reservation writer for event " + eventId + " failed: " + e.getMessage());
+                batch.forEach(p -> p.result.completeExceptionally(e));
+            } finally {
+                scheduled.set(false);
+                // Yield between batches so one hot event cannot monopolise the pool.
+                if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+                    pipelineExecutor.execute(this);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.eventbooking.service;
+
+import com.eventbooking.dto.SeatMapDTO;
+import com.eventbooking.dto.SeatSectionDTO;
+import com.eventbooking.entity.BookingStatus;
+import com.eventbooking.entity.Event;
+import com.eventbooking.entity.SeatSection;
+import com.eventbooking.repository.BookingRepository;
+import com.eventbooking.repository.EventRepository;
+import com.eventbooking.repository.SeatSectionRepository;
+import com.eventbooking.util.SeatMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Seat maps for assigned-seating events, rebuilt on startup from seat_sections and the seat_numbers of
+ * PENDING and CONFIRMED bookings. Ticket counts are still taken through InventoryService for every seat,
+ * but seat state itself lives in this instance's memory, so a seated event must be served by one instance.
+ */
+@Service
+public class SeatMapService {
+
+    @Autowired
+    private SeatSectionRepository seatSectionRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private final ConcurrentHashMap<Long, SeatMap> seatMaps = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Map<Long, List<SeatSection>> sectionsByEvent = new LinkedHashMap<>();
+        for (SeatSection section : seatSectionRepository.findAllOrdered()) {
+            sectionsByEvent.computeIfAbsent(section.getEventId(), k -> new ArrayList<>()).add(section);
+        }
+        sectionsByEvent.forEach((eventId, sections) -> seatMaps.put(eventId, new SeatMap(sections)));
+
+        int bookings = 0;
+        for (Object[] row : bookingRepository.findSeatedBookings()) {
+            SeatMap seatMap = seatMaps.get((Long) row[0]);
+            if (seatMap == null) {
+                continue;
+            }
+            int[] seats = decode((String) row[2]);
+            if (row[1] == BookingStatus.CONFIRMED) {
+                seatMap.markSold(seats);
+            } else {
+                seatMap.markHeld(seats);
+            }
+            bookings++;
+        }
+        System.out.println("Seat maps rebuilt for " + seatMaps.size() + " events from " + bookings + " bookings");
+    }
+
+    public boolean hasSeatMap(Long eventId) {
+        return seatMaps.containsKey(eventId);
+    }
+
+    public int[] hold(Long eventId, List<String> labels) {
+        SeatMap seatMap = seatMap(eventId);
+        int[] seats = new int[labels.size()];
+        for (int i = 0; i < seats.length; i++) {
+            seats[i] = seatMap.parseLabel(labels.get(i));
+        }
+        if (!seatMap.hold(seats)) {
+            throw new RuntimeException("One or more of the selected seats are no longer available");
+        }
+        return seats;
+    }
+
+    public int[] holdBestAvailable(Long eventId, int count) {
+        int[] seats = seatMap(eventId).holdBestAvailable(count);
+        if (seats == null) {
+            throw new RuntimeException("No " + count + " adjacent seats available");
+        }
+        return seats;
+    }
+
+    public void confirm(Long eventId, String seatNumbers) {
+        SeatMap seatMap = seatMaps.get(eventId);
+        if (seatMap != null && seatNumbers != null) {
+            seatMap.confirm(decode(seatNumbers));
+        }
+    }
+
+    public void release(Long eventId, String seatNumbers) {
+        SeatMap seatMap = seatMaps.get(eventId);
+        if (seatMap != null && seatNumbers != null) {
+            seatMap.release(decode(seatNumbers));
+        }
+    }
+
+    public void restock(Long eventId, String seatNumbers) {
+        SeatMap seatMap = seatMaps.get(eventId);
+        if (seatMap != null && seatNumbers != null) {
+            seatMap.restock(decode(seatNumbers));
+        }
+    }
+
+    public List<String> labels(Long eventId, String seatNumbers) {
+        SeatMap seatMap = seatMaps.get(eventId);
+        if (seatMap == null || seatNumbers == null) {
+            return null;
+        }
+        return Arrays.stream(decode(seatNumbers)).mapToObj(seatMap::label).collect(Collectors.toList());
+    }
+
+    public SeatMapDTO getSeatMap(Long eventId) {
+        SeatMap seatMap = seatMap(eventId);
+        SeatMapDTO dto = new SeatMapDTO(eventId, seatMap.getSeatCount(), seatMap.getFreeSeats());
+        for (int row = 0; row < seatMap.getRowCount(); row++) {
+            dto.getRows().add(new SeatMapDTO.RowState(seatMap.getRowLabel(row), seatMap.getRowState(row)));
+        }
+        return dto;
+    }
+
+    // Only allowed before anything is sold, and the seat count must match the event's tickets so the
+    // counters in InventoryService and the seat map agree.
+    @Transactional
+    public SeatMapDTO configureLayout(Long eventId, List<SeatSectionDTO> layout) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new RuntimeException("Event not found with id: " + eventId));
+
+        if (layout == null || layout.isEmpty()) {
+            throw new RuntimeException("A seat layout needs at least one section");
+        }
+        List<SeatSection> sections = new ArrayList<>();
+        long seats = 0;
+        for (int i = 0; i < layout.size(); i++) {
+            SeatSectionDTO section = layout.get(i);
+            if (section == null || section.getName() == null || section.getName().isBlank()
+                    || section.getRowCount() == null || section.getRowCount() <= 0
+                    || section.getSeatsPerRow() == null || section.getSeatsPerRow() <= 0) {
+                throw new RuntimeException("Each section needs a name, rowCount and seatsPerRow");
+            }
+            sections.add(new SeatSection(eventId, section.getName().trim(), section.getRowCount(),
+                    section.getSeatsPerRow(), i));
+            seats += (long) section.getRowCount() * section.getSeatsPerRow();
+        }
+        if (sections.stream().map(SeatSection::getName).distinct().count() != sections.size()) {
+            throw new RuntimeException("Section names must be unique");
+        }
+        if (seats != event.getAvailableTickets()) {
+            throw new RuntimeException("Seat layout has " + seats + " seats but the event has "
+                    + event.getAvailableTickets() + " available tickets");
+        }
+        if (bookingRepository.countActiveByEventId(eventId) > 0) {
+            throw new RuntimeException("Seat layout cannot be changed once the event has bookings");
+        }
+
+        seatSectionRepository.deleteByEventId(eventId);
+        SeatMap seatMap = new SeatMap(seatSectionRepository.saveAll(sections));
+        seatMaps.put(eventId, seatMap);
+        return getSeatMap(eventId);
+    }
+
+    public void deleteLayout(Long eventId) {
+        seatSectionRepository.deleteByEventId(eventId);
+        seatMaps.remove(eventId);
+    }
+
+    public static String encode(int[] seats) {
+        return Arrays.stream(seats).mapToObj(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    public static int[] decode(String seatNumbers) {
+        return Arrays.stream(seatNumbers.split(",")).filter(s -> !s.isEmpty()).mapToInt(Integer::parseInt).toArray();
+    }
+
+    private SeatMap seatMap(Long eventId) {
+        SeatMap seatMap = seatMaps.get(eventId);
+        if (seatMap == null) {
+            throw new RuntimeException("Event " + eventId + " does not have assigned seating");
+        }
+        return seatMap;
+    }
+}
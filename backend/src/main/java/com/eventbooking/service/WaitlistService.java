@@ -0,0 +1,275 @@
+package com.eventbooking.service;
+
+import com.eventbooking.dto.ReservationDTO;
+import com.eventbooking.dto.WaitlistStatusDTO;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Per-event FIFO waitlist. InventoryService is told how many tickets the head of each queue wants and
+ * sets freed tickets aside for it before a direct reservation can take them. When it reports tickets
+ * released or restocked, the head is given a normal time-limited hold through BookingService, then the
+ * next, until a hold fails. Promoted users find their hold in the waitlist status and confirm it like
+ * any other reservation.
+ */
+@Service
+public class WaitlistService {
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Value("${booking.waitlist.max-size:10000}")
+    private int maxSize;
+
+    private final ConcurrentHashMap<Long, Waitlist> waitlists = new ConcurrentHashMap<>();
+
+    // Holds created for promoted users, keyed by eventId + ":" + userId, until confirmed, cancelled or expired.
+    private final ConcurrentHashMap<String, ReservationDTO> offers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, String> offerKeysByReservation = new ConcurrentHashMap<>();
+
+    public WaitlistStatusDTO join(Long eventId, Long userId, int ticketCount) {
+        if (ticketCount <= 0) {
+            throw new RuntimeException("ticketCount must be positive");
+        }
+        waitlists.compute(eventId, (k, existing) -> {
+            Waitlist waitlist = existing != null ? existing : new Waitlist();
+            synchronized (waitlist) {
+                if (!waitlist.entries.containsKey(userId) && waitlist.entries.size() >= maxSize) {
+                    throw new RuntimeException("The waitlist for this event is full");
+                }
+                waitlist.entries.putIfAbsent(userId, new Entry(ticketCount));
+            }
+            return waitlist;
+        });
+        updateDemand(eventId);
+        promote(eventId);
+        return getStatus(eventId, userId);
+    }
+
+    public WaitlistStatusDTO getStatus(Long eventId, Long userId) {
+        ReservationDTO offer = offers.get(eventId + ":" + userId);
+        if (offer != null && isExpired(offer, Instant.now())) {
+            removeOffer(offer.getReservationId());
+            offer = null;
+        }
+        if (offer != null) {
+            WaitlistStatusDTO status = new WaitlistStatusDTO(eventId, offer.getTicketCount(), false, 0);
+            status.setReservation(offer);
+            return status;
+        }
+
+        Waitlist waitlist = waitlists.get(eventId);
+        if (waitlist != null) {
+            synchronized (waitlist) {
+                int position = 1;
+                for (Map.Entry<Long, Entry> entry : waitlist.entries.entrySet()) {
+                    if (entry.getKey().equals(userId)) {
+                        return new WaitlistStatusDTO(eventId, entry.getValue().ticketCount, true, position);
+                    }
+                    position++;
+                }
+            }
+        }
+        return new WaitlistStatusDTO(eventId, null, false, 0);
+    }
+
+    public boolean leave(Long eventId, Long userId) {
+        Waitlist waitlist = waitlists.get(eventId);
+        if (waitlist == null) {
+            return false;
+        }
+        boolean removed;
+        synchronized (waitlist) {
+            removed = waitlist.entries.remove(userId) != null;
+        }
+        updateDemand(eventId);
+        return removed;
+    }
+
+    // After commit, so a cancelled hold or booking is visible before its tickets are offered again.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        if (event.getReason() == AvailabilityChangedEvent.Reason.RELEASED
+                || event.getReason() == AvailabilityChangedEvent.Reason.RESTOCKED) {
+            promote(event.getEventId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationClosed(ReservationClosedEvent event) {
+        removeOffer(event.getReservationId());
+    }
+
+    // Retries queues whose head could not be served (load shedding, a lost race) and drops stale offers.
+    @Scheduled(fixedDelay = 30000)
+    public void retryWaitlists() {
+        Instant now = Instant.now();
+        offers.values().stream()
+                .filter(offer -> isExpired(offer, now))
+                .map(ReservationDTO::getReservationId)
+                .toList()
+                .forEach(this::removeOffer);
+        for (Long eventId : waitlists.keySet()) {
+            Waitlist remaining = waitlists.computeIfPresent(eventId, (k, waitlist) -> {
+                synchronized (waitlist) {
+                    return waitlist.entries.isEmpty() && !waitlist.promoting.get() ? null : waitlist;
+                }
+            });
+            // Also repairs a demand left stale by two updates racing.
+            updateDemand(eventId);
+            if (remaining != null) {
+                promote(eventId);
+            }
+        }
+    }
+
+    private void promote(Long eventId) {
+        Waitlist waitlist = waitlists.get(eventId);
+        if (waitlist == null) {
+            return;
+        }
+        waitlist.dirty = true;
+        if (waitlist.promoting.compareAndSet(false, true)) {
+            promoteNext(eventId, waitlist);
+        }
+    }
+
+    // Only one promotion chain runs per event at a time, which keeps holds in queue order. Holds that are
+    // already complete are handled in the loop; one still running continues the chain from its callback.
+    private void promoteNext(Long eventId, Waitlist waitlist) {
+        while (true) {
+            waitlist.dirty = false;
+            Long userId;
+            Entry entry;
+            synchronized (waitlist) {
+                Iterator<Map.Entry<Long, Entry>> head = waitlist.entries.entrySet().iterator();
+                if (!head.hasNext()) {
+                    finish(eventId, waitlist);
+                    return;
+                }
+                Map.Entry<Long, Entry> next = head.next();
+                userId = next.getKey();
+                entry = next.getValue();
+            }
+
+            CompletableFuture<ReservationDTO> hold;
+            try {
+                if (inventoryService.getWaitlistReservableTickets(eventId) < entry.ticketCount) {
+                    finish(eventId, waitlist);
+                    return;
+                }
+                hold = bookingService.reserveForWaitlist(userId, eventId, entry.ticketCount);
+            } catch (Exception e) {
+                hold = CompletableFuture.failedFuture(e);
+            }
+
+            if (!hold.isDone()) {
+                hold.whenComplete((reservation, error) -> {
+                    if (promoted(eventId, waitlist, userId, entry, reservation, error)) {
+                        promoteNext(eventId, waitlist);
+                    }
+                });
+                return;
+            }
+            Throwable error = hold.handle((reservation, e) -> e).join();
+            if (!promoted(eventId, waitlist, userId, entry, error == null ? hold.join() : null, error)) {
+                return;
+            }
+        }
+    }
+
+    // Records the outcome of a hold for the head of the queue; true if the next entry should be served.
+    private boolean promoted(Long eventId, Waitlist waitlist, Long userId, Entry entry,
+                             ReservationDTO reservation, Throwable error) {
+        if (error == null) {
+            synchronized (waitlist) {
+                waitlist.entries.remove(userId);
+            }
+            updateDemand(eventId);
+            String key = eventId + ":" + userId;
+            ReservationDTO previous = offers.put(key, reservation);
+            if (previous != null) {
+                offerKeysByReservation.remove(previous.getReservationId(), key);
+            }
+            offerKeysByReservation.put(reservation.getReservationId(), key);
+            System.out.println("Waitlist: offered " + entry.ticketCount + " tickets for event " + eventId
+                    + " to user " + userId);
+            return true;
+        }
+
+        // The head keeps its place unless it keeps failing on its own (e.g. the user was removed).
+        if (++entry.failures >= MAX_ATTEMPTS) {
+            synchronized (waitlist) {
+                waitlist.entries.remove(userId);
+            }
+            updateDemand(eventId);
+            System.err.println("Waitlist: dropped user " + userId + " for event " + eventId + ": "
+                    + error.getMessage());
+        }
+        finish(eventId, waitlist);
+        return false;
+    }
+
+    // Tells InventoryService how many freed tickets to set aside: what the head of the queue asked for.
+    private void updateDemand(Long eventId) {
+        Waitlist waitlist = waitlists.get(eventId);
+        int wanted = 0;
+        if (waitlist != null) {
+            synchronized (waitlist) {
+                Iterator<Entry> head = waitlist.entries.values().iterator();
+                wanted = head.hasNext() ? head.next().ticketCount : 0;
+            }
+        }
+        inventoryService.setWaitlistDemand(eventId, wanted);
+    }
+
+    private void removeOffer(Long reservationId) {
+        String key = offerKeysByReservation.remove(reservationId);
+        if (key != null) {
+            offers.computeIfPresent(key, (k, offer) -> reservationId.equals(offer.getReservationId()) ? null : offer);
+        }
+    }
+
+    private static boolean isExpired(ReservationDTO offer, Instant now) {
+        return offer.getReservationExpiry() != null && offer.getReservationExpiry().isBefore(now);
+    }
+
+    private void finish(Long eventId, Waitlist waitlist) {
+        waitlist.promoting.set(false);
+        if (waitlist.dirty) {
+            promote(eventId);
+        }
+    }
+
+    private static class Waitlist {
+        private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>();
+        private final AtomicBoolean promoting = new AtomicBoolean(false);
+        private volatile boolean dirty;
+    }
+
+    private static class Entry {
+        private final int ticketCount;
+        private int failures;
+
+        Entry(int ticketCount) {
+            this.ticketCount = ticketCount;
+        }
+    }
+}
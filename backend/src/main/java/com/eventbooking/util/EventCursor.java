@@ -0,0 +1,50 @@
+package com.eventbooking.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Base64;
+
+/**
+ * Keyset position in the (date, time, id) order every event listing uses: the last event of the previous
+ * page, as URL-safe Base64 of "date|time|id". Shared by the filtered event pages and the per-category
+ * view, so a cursor means the same thing on both.
+ */
+public class EventCursor {
+
+    private final LocalDate date;
+    private final LocalTime time;
+    private final long id;
+
+    public EventCursor(LocalDate date, LocalTime time, long id) {
+        this.date = date;
+        this.time = time;
+        this.id = id;
+    }
+
+    public static EventCursor decode(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            return new EventCursor(LocalDate.parse(position[0]), LocalTime.parse(position[1]), Long.parseLong(position[2]));
+        } catch (Exception e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String position = date + "|" + time + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public LocalTime getTime() {
+        return time;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
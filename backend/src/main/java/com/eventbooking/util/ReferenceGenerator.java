@@ -0,0 +1,6 @@
+package com.eventbooking.util;
+
+public interface ReferenceGenerator {
+
+    String nextReference();
+}
@@ -0,0 +1,289 @@
+package com.eventbooking.util;
+
+import com.eventbooking.entity.SeatSection;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seat state for one assigned-seating event as two bitsets, held and sold, over a global seat index.
+ * Sections are laid out in sort order and each row is a contiguous bit range, so finding N adjacent
+ * free seats is a word-at-a-time scan of (held | sold) rather than a walk over seat objects.
+ * Seat labels are "section-row-seat" with 1-based row and seat numbers, e.g. "A-3-12".
+ */
+public class SeatMap {
+
+    private final String[] sectionNames;
+    private final int[] sectionFirstRow;
+    private final int[] sectionRows;
+    private final Map<String, Integer> sectionIndex = new HashMap<>();
+
+    private final int[] rowStart;
+    private final int[] rowLength;
+    private final int[] rowSection;
+
+    private final int seatCount;
+    private final long[] held;
+    private final long[] sold;
+    private int freeSeats;
+
+    public SeatMap(List<SeatSection> sections) {
+        int rows = 0;
+        for (SeatSection section : sections) {
+            rows += section.getRowCount();
+        }
+
+        sectionNames = new String[sections.size()];
+        sectionFirstRow = new int[sections.size()];
+        sectionRows = new int[sections.size()];
+        rowStart = new int[rows];
+        rowLength = new int[rows];
+        rowSection = new int[rows];
+
+        int row = 0;
+        int seat = 0;
+        for (int s = 0; s < sections.size(); s++) {
+            SeatSection section = sections.get(s);
+            sectionNames[s] = section.getName();
+            sectionFirstRow[s] = row;
+            sectionRows[s] = section.getRowCount();
+            sectionIndex.put(section.getName(), s);
+            for (int r = 0; r < section.getRowCount(); r++, row++) {
+                rowStart[row] = seat;
+                rowLength[row] = section.getSeatsPerRow();
+                rowSection[row] = s;
+                seat += section.getSeatsPerRow();
+            }
+        }
+
+        seatCount = seat;
+        held = new long[(seatCount + 63) >>> 6];
+        sold = new long[held.length];
+        freeSeats = seatCount;
+    }
+
+    public int getSeatCount() {
+        return seatCount;
+    }
+
+    public synchronized int getFreeSeats() {
+        return freeSeats;
+    }
+
+    // All-or-nothing: either every seat is free and becomes held, or nothing changes.
+    public synchronized boolean hold(int[] seats) {
+        for (int i = 0; i < seats.length; i++) {
+            int seat = seats[i];
+            if (seat < 0 || seat >= seatCount || isOccupied(seat)) {
+                for (int j = 0; j < i; j++) {
+                    clear(held, seats[j]);
+                }
+                freeSeats += i;
+                return false;
+            }
+            set(held, seat);
+            freeSeats--;
+        }
+        return true;
+    }
+
+    // Front rows first; within a row the run of free seats closest to the centre. Null if no row fits.
+    public synchronized int[] holdBestAvailable(int count) {
+        if (count <= 0 || count > freeSeats) {
+            return null;
+        }
+        for (int row = 0; row < rowStart.length; row++) {
+            int start = rowStart[row];
+            int end = start + rowLength[row];
+            if (rowLength[row] < count) {
+                continue;
+            }
+
+            int ideal = start + (rowLength[row] - count) / 2;
+            int best = -1;
+            int from = nextFree(start, end);
+            while (from < end) {
+                int runEnd = nextOccupied(from, end);
+                if (runEnd - from >= count) {
+                    int candidate = Math.max(from, Math.min(ideal, runEnd - count));
+                    if (best < 0 || Math.abs(candidate - ideal) < Math.abs(best - ideal)) {
+                        best = candidate;
+                    }
+                }
+                from = nextFree(runEnd, end);
+            }
+
+            if (best >= 0) {
+                int[] seats = new int[count];
+                for (int i = 0; i < count; i++) {
+                    seats[i] = best + i;
+                    set(held, best + i);
+                }
+                freeSeats -= count;
+                return seats;
+            }
+        }
+        return null;
+    }
+
+    public synchronized void confirm(int[] seats) {
+        for (int seat : seats) {
+            if (!isSet(held, seat)) {
+                freeSeats--;
+            }
+            clear(held, seat);
+            set(sold, seat);
+        }
+    }
+
+    public synchronized void release(int[] seats) {
+        for (int seat : seats) {
+            if (isSet(held, seat)) {
+                clear(held, seat);
+                freeSeats++;
+            }
+        }
+    }
+
+    public synchronized void restock(int[] seats) {
+        for (int seat : seats) {
+            if (isSet(sold, seat)) {
+                clear(sold, seat);
+                freeSeats++;
+            }
+        }
+    }
+
+    // Used when rebuilding from bookings; does not check the seat was free.
+    public synchronized void markHeld(int[] seats) {
+        for (int seat : seats) {
+            if (!isOccupied(seat)) {
+                freeSeats--;
+            }
+            set(held, seat);
+        }
+    }
+
+    public synchronized void markSold(int[] seats) {
+        for (int seat : seats) {
+            if (!isOccupied(seat)) {
+                freeSeats--;
+            }
+            clear(held, seat);
+            set(sold, seat);
+        }
+    }
+
+    public int parseLabel(String label) {
+        int seatDash = label.lastIndexOf('-');
+        int rowDash = seatDash > 0 ? label.lastIndexOf('-', seatDash - 1) : -1;
+        if (rowDash <= 0) {
+            throw new RuntimeException("Invalid seat: " + label);
+        }
+        Integer section = sectionIndex.get(label.substring(0, rowDash));
+        int rowNumber;
+        int seatNumber;
+        try {
+            rowNumber = Integer.parseInt(label.substring(rowDash + 1, seatDash));
+            seatNumber = Integer.parseInt(label.substring(seatDash + 1));
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid seat: " + label);
+        }
+
+        if (section == null || rowNumber < 1 || rowNumber > sectionRows[section]) {
+            throw new RuntimeException("Invalid seat: " + label);
+        }
+        int row = sectionFirstRow[section] + rowNumber - 1;
+        if (seatNumber < 1 || seatNumber > rowLength[row]) {
+            throw new RuntimeException("Invalid seat: " + label);
+        }
+        return rowStart[row] + seatNumber - 1;
+    }
+
+    public String label(int seat) {
+        int row = rowOf(seat);
+        int section = rowSection[row];
+        return sectionNames[section] + "-" + (row - sectionFirstRow[section] + 1) + "-" + (seat - rowStart[row] + 1);
+    }
+
+    public int getRowCount() {
+        return rowStart.length;
+    }
+
+    public String getRowLabel(int row) {
+        int section = rowSection[row];
+        return sectionNames[section] + "-" + (row - sectionFirstRow[section] + 1);
+    }
+
+    // One character per seat: '.' free, 'H' held, 'X' sold.
+    public synchronized String getRowState(int row) {
+        StringBuilder state = new StringBuilder(rowLength[row]);
+        for (int seat = rowStart[row]; seat < rowStart[row] + rowLength[row]; seat++) {
+            state.append(isSet(sold, seat) ? 'X' : isSet(held, seat) ? 'H' : '.');
+        }
+        return state.toString();
+    }
+
+    private int rowOf(int seat) {
+        int low = 0;
+        int high = rowStart.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (rowStart[mid] <= seat) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private boolean isOccupied(int seat) {
+        return isSet(held, seat) || isSet(sold, seat);
+    }
+
+    private int nextFree(int from, int end) {
+        if (from >= end) {
+            return end;
+        }
+        int word = from >>> 6;
+        long free = ~(held[word] | sold[word]) & (-1L << from);
+        while (free == 0) {
+            word++;
+            if (word << 6 >= end) {
+                return end;
+            }
+            free = ~(held[word] | sold[word]);
+        }
+        return Math.min(end, (word << 6) + Long.numberOfTrailingZeros(free));
+    }
+
+    private int nextOccupied(int from, int end) {
+        if (from >= end) {
+            return end;
+        }
+        int word = from >>> 6;
+        long occupied = (held[word] | sold[word]) & (-1L << from);
+        while (occupied == 0) {
+            word++;
+            if (word << 6 >= end) {
+                return end;
+            }
+            occupied = held[word] | sold[word];
+        }
+        return Math.min(end, (word << 6) + Long.numberOfTrailingZeros(occupied));
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private static void clear(long[] bits, int index) {
+        bits[index >>> 6] &= ~(1L << index);
+    }
+}
@@ -0,0 +1,107 @@
+package com.eventbooking.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style booking references: 41 bits of milliseconds since 2024-01-01, a 10-bit node id and a
+ * 12-bit per-millisecond sequence, written in Crockford base32 after a "BK" prefix (e.g. BKA8RTWJXW0W00).
+ * Time and sequence share one AtomicLong updated by CAS, so references are unique per node and time
+ * ordered without locks. No id ever carries a timestamp ahead of the clock: a node that runs out of
+ * sequence spins into the next millisecond, and one whose clock steps back waits for it to catch up, so
+ * a restart cannot hand out an id the previous run already borrowed. A step back of more than
+ * MAX_CLOCK_BACK_MS fails the request rather than stalling every booking behind it.
+ */
+@Component
+public class SnowflakeReferenceGenerator implements ReferenceGenerator {
+
+    private static final long EPOCH = 1704067200000L;
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    static final long MAX_CLOCK_BACK_MS = 5000;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final long node;
+
+    // (milliseconds since EPOCH << SEQUENCE_BITS) | sequence of the last reference handed out
+    private final AtomicLong lastState = new AtomicLong();
+
+    // booking.reference.node-id must differ between instances. Memory reservation mode is single-instance
+    // and defaults to node 0; database mode is how several instances share one database, so it must be set.
+    public SnowflakeReferenceGenerator(@Value("${booking.reference.node-id:-1}") int nodeId,
+                                       @Value("${booking.reservation.mode:memory}") String reservationMode) {
+        if (nodeId >= (1 << NODE_BITS)) {
+            throw new IllegalArgumentException("booking.reference.node-id must be below " + (1 << NODE_BITS));
+        }
+        if (nodeId < 0 && "database".equalsIgnoreCase(reservationMode)) {
+            throw new IllegalArgumentException(
+                    "booking.reference.node-id must be set to a value unique per instance in database reservation mode");
+        }
+        this.node = Math.max(nodeId, 0);
+        System.out.println("Booking reference generator node id: " + node);
+    }
+
+    @Override
+    public String nextReference() {
+        return "BK" + encode(nextId());
+    }
+
+    public long nextId() {
+        while (true) {
+            long state = lastState.get();
+            long last = state >>> SEQUENCE_BITS;
+            long now = currentTimeMillis() - EPOCH;
+            long next;
+            if (now > last) {
+                next = now << SEQUENCE_BITS;
+            } else if (now < last) {
+                awaitClock(last, now);
+                continue;
+            } else if ((state & SEQUENCE_MASK) == SEQUENCE_MASK) {
+                // This millisecond's sequence is used up; the next one is at most a millisecond away.
+                Thread.onSpinWait();
+                continue;
+            } else {
+                next = state + 1;
+            }
+            if (lastState.compareAndSet(state, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    private static void awaitClock(long last, long now) {
+        long behind = last - now;
+        if (behind > MAX_CLOCK_BACK_MS) {
+            throw new RuntimeException("Clock moved back " + behind + " ms, refusing to generate booking references");
+        }
+        if (behind == 1) {
+            Thread.onSpinWait();
+            return;
+        }
+        try {
+            Thread.sleep(behind - 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for the clock to catch up");
+        }
+    }
+
+    private static String encode(long id) {
+        char[] buffer = new char[13];
+        int position = buffer.length;
+        do {
+            buffer[--position] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        } while (id != 0);
+        return new String(buffer, position, buffer.length - position);
+    }
+}
@@ -0,0 +1,100 @@
+package com.eventbooking.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed table of per-event locks. Event ids are hashed onto a power-of-two number of stripes, so memory
+ * stays constant however many events are booked; two events sharing a stripe only serialise each other.
+ * Each stripe counts acquisitions, acquisitions that had to wait, timeouts and total wait time.
+ */
+@Component
+public class StripedLock {
+
+    private static final int ACQUIRED = 0;
+    private static final int CONTENDED = 1;
+    private static final int TIMED_OUT = 2;
+    private static final int WAIT_NANOS = 3;
+    private static final int COUNTERS = 4;
+
+    private final ReentrantLock[] locks;
+    private final AtomicLongArray counters;
+    private final int mask;
+
+    public StripedLock(@Value("${booking.locks.stripes:256}") int stripes) {
+        if (stripes <= 0 || stripes > (1 << 20)) {
+            throw new IllegalArgumentException("booking.locks.stripes must be between 1 and " + (1 << 20));
+        }
+        int size = Integer.highestOneBit(stripes);
+        if (size < stripes) {
+            size <<= 1;
+        }
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.counters = new AtomicLongArray(size * COUNTERS);
+        this.mask = size - 1;
+    }
+
+    public boolean tryLock(Long id, long timeout, TimeUnit unit) throws InterruptedException {
+        int stripe = stripeFor(id);
+        ReentrantLock lock = locks[stripe];
+        int base = stripe * COUNTERS;
+
+        if (lock.tryLock()) {
+            counters.incrementAndGet(base + ACQUIRED);
+            return true;
+        }
+
+        counters.incrementAndGet(base + CONTENDED);
+        long started = System.nanoTime();
+        boolean acquired = lock.tryLock(timeout, unit);
+        counters.addAndGet(base + WAIT_NANOS, System.nanoTime() - started);
+        counters.incrementAndGet(base + (acquired ? ACQUIRED : TIMED_OUT));
+        return acquired;
+    }
+
+    public void unlock(Long id) {
+        locks[stripeFor(id)].unlock();
+    }
+
+    public int getStripeCount() {
+        return locks.length;
+    }
+
+    // Only stripes that have been used, to keep the output readable with large tables.
+    public List<Map<String, Object>> getStats() {
+        List<Map<String, Object>> stats = new ArrayList<>();
+        for (int stripe = 0; stripe < locks.length; stripe++) {
+            int base = stripe * COUNTERS;
+            long acquired = counters.get(base + ACQUIRED);
+            long timedOut = counters.get(base + TIMED_OUT);
+            if (acquired == 0 && timedOut == 0) {
+                continue;
+            }
+            Map<String, Object> stripeStats = new HashMap<>();
+            stripeStats.put("stripe", stripe);
+            stripeStats.put("acquired", acquired);
+            stripeStats.put("contended", counters.get(base + CONTENDED));
+            stripeStats.put("timedOut", timedOut);
+            stripeStats.put("waitMs", TimeUnit.NANOSECONDS.toMillis(counters.get(base + WAIT_NANOS)));
+            stripeStats.put("queued", locks[stripe].getQueueLength());
+            stats.add(stripeStats);
+        }
+        return stats;
+    }
+
+    private int stripeFor(Long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,73 @@
+package com.eventbooking.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rough comparison of the booking execution paths on a burst of tasks that each block for a fixed time,
+ * standing in for the JDBC work of a reservation: the old @Async taskExecutor hop followed by supplyAsync
+ * on the common pool, and one hop onto bookingExecutor in platform and virtual mode. Prints elapsed time
+ * and the peak number of tasks blocked at once; asserts only that the db-permits bound holds.
+ */
+class BookingExecutorBenchmarkTest {
+
+    private static final int TASKS = 2000;
+    private static final int BLOCK_MS = 5;
+    private static final int DB_PERMITS = 20;
+
+    private final AsyncConfig config = new AsyncConfig();
+
+    @Test
+    void compareExecutionModes() throws Exception {
+        ThreadPoolTaskExecutor taskExecutor = (ThreadPoolTaskExecutor) config.taskExecutor();
+        try {
+            run("two hops (taskExecutor + common pool)", task -> taskExecutor.execute(() -> CompletableFuture.runAsync(task).join()), false);
+        } finally {
+            taskExecutor.shutdown();
+        }
+        run("bookingExecutor platform", config.bookingExecutor("platform", DB_PERMITS), true);
+        run("bookingExecutor virtual", config.bookingExecutor("virtual", DB_PERMITS), true);
+    }
+
+    private static void run(String name, Executor executor, boolean bounded) throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<CompletableFuture<Void>> done = new ArrayList<>(TASKS);
+
+        long started = System.nanoTime();
+        for (int i = 0; i < TASKS; i++) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            done.add(future);
+            executor.execute(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(BLOCK_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                    future.complete(null);
+                }
+            });
+        }
+        CompletableFuture.allOf(done.toArray(new CompletableFuture[0])).get(2, TimeUnit.MINUTES);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        System.out.println(name + ": " + TASKS + " tasks of " + BLOCK_MS + " ms in " + elapsedMs
+                + " ms, peak concurrent " + peak.get());
+        assertEquals(0, running.get());
+        if (bounded) {
+            assertTrue(peak.get() <= DB_PERMITS, name + " ran " + peak.get() + " tasks at once");
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.eventbooking.controller;
+
+import com.eventbooking.dto.ReservationDTO;
+import com.eventbooking.entity.User;
+import com.eventbooking.exception.TooManyRequestsException;
+import com.eventbooking.service.AdmissionService;
+import com.eventbooking.service.BookingService;
+import com.eventbooking.service.UserService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingControllerAdmissionTest {
+
+    private static final Long EVENT_ID = 3L;
+    private static final Long USER_ID = 1L;
+    private static final Long TOKEN = 42L;
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private AdmissionService admissionService;
+
+    @InjectMocks
+    private BookingController bookingController;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookingController, "requestTimeoutSeconds", 1L);
+        User user = new User("admitted", "admitted@example.com", "secret");
+        user.setId(USER_ID);
+        when(userService.findByUsername("admitted")).thenReturn(Optional.of(user));
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("admitted", null));
+    }
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shedReservationGivesTheTokenBack() throws Exception {
+        when(bookingService.reserveTickets(anyLong(), anyLong(), anyInt()))
+                .thenReturn(CompletableFuture.failedFuture(new TooManyRequestsException("Busy", 1)));
+
+        ResponseEntity<?> response = bookingController.reserveTickets(request()).get(5, TimeUnit.SECONDS);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        verify(admissionService).restore(EVENT_ID, USER_ID, TOKEN);
+    }
+
+    @Test
+    void timedOutReservationKeepsTheTokenConsumed() throws Exception {
+        CompletableFuture<ReservationDTO> stillRunning = new CompletableFuture<>();
+        when(bookingService.reserveTickets(anyLong(), anyLong(), anyInt())).thenReturn(stillRunning);
+
+        ResponseEntity<?> response = bookingController.reserveTickets(request()).get(5, TimeUnit.SECONDS);
+        // The reservation commits after the client was told it timed out.
+        stillRunning.complete(new ReservationDTO());
+
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, response.getStatusCode());
+        verify(admissionService, never()).restore(EVENT_ID, USER_ID, TOKEN);
+    }
+
+    private static Map<String, Object> request() {
+        return Map.of("eventId", EVENT_ID, "ticketCount", 2, "admissionToken", TOKEN);
+    }
+}
@@ -0,0 +1,168 @@
+package com.eventbooking.controller;
+
+import com.eventbooking.dto.ReservationDTO;
+import com.eventbooking.entity.User;
+import com.eventbooking.service.AdmissionService;
+import com.eventbooking.service.BookingService;
+import com.eventbooking.service.UserService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Drives POST /api/bookings/reserve through the Spring MVC async request path with a reservation that
+ * takes RESERVATION_MS. Sixteen request threads share eight hundred requests. A request thread that waited
+ * for its reservation could finish no sooner than REQUESTS / REQUEST_THREADS * RESERVATION_MS. The
+ * async endpoint hands the thread back at once, so many reservations are open together and the whole
+ * run finishes well inside that bound.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingControllerLoadTest {
+
+    private static final int REQUEST_THREADS = 16;
+    private static final int REQUESTS = 800;
+    private static final int RESERVATION_MS = 200;
+    private static final String BODY = "{\"eventId\": 1, \"ticketCount\": 1}";
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private AdmissionService admissionService;
+
+    @InjectMocks
+    private BookingController bookingController;
+
+    private MockMvc mockMvc;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookingController, "requestTimeoutSeconds", 30L);
+        User user = new User("load", "load@example.com", "secret");
+        user.setId(1L);
+        when(userService.findByUsername(anyString())).thenReturn(Optional.of(user));
+        mockMvc = MockMvcBuilders.standaloneSetup(bookingController).build();
+    }
+
+    @Test
+    void asyncReservationsReleaseTheRequestThreadWhileTheyRun() throws Exception {
+        when(bookingService.reserveTickets(anyLong(), anyLong(), anyInt())).thenAnswer(invocation -> slowReservation());
+        // The first request initialises the dispatcher; keep it out of the timings.
+        complete(start());
+        peakInFlight.set(0);
+
+        ExecutorService requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+        long[] requestThreadMs = new long[REQUESTS];
+        List<Future<MvcResult>> submitted = new ArrayList<>(REQUESTS);
+        long started = System.nanoTime();
+        try {
+            for (int i = 0; i < REQUESTS; i++) {
+                int request = i;
+                submitted.add(requestThreads.submit(() -> {
+                    long sent = System.nanoTime();
+                    MvcResult result = start();
+                    requestThreadMs[request] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sent);
+                    return result;
+                }));
+            }
+            for (Future<MvcResult> result : submitted) {
+                complete(result.get(2, TimeUnit.MINUTES));
+            }
+        } finally {
+            requestThreads.shutdownNow();
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        Arrays.sort(requestThreadMs);
+        // A thread that waited for its reservation would be held at least RESERVATION_MS every time.
+        long median = requestThreadMs[REQUESTS / 2];
+        assertTrue(median < RESERVATION_MS / 2, "request threads were held " + median + " ms (median)");
+        long blockingMinimumMs = (long) REQUESTS / REQUEST_THREADS * RESERVATION_MS;
+        assertTrue(elapsedMs < blockingMinimumMs, REQUESTS + " reservations took " + elapsedMs + " ms");
+        assertTrue(peakInFlight.get() > REQUEST_THREADS * 10, "peak open " + peakInFlight.get());
+    }
+
+    @Test
+    void reservationThatOutlivesTheRequestTimeoutAnswers504() throws Exception {
+        ReflectionTestUtils.setField(bookingController, "requestTimeoutSeconds", 1L);
+        when(bookingService.reserveTickets(anyLong(), anyLong(), anyInt())).thenReturn(new CompletableFuture<>());
+
+        MvcResult result = start();
+        long started = System.nanoTime();
+        result.getAsyncResult(5000);
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.error").value(true));
+        assertTrue(waitedMs < 3000, "timed out after " + waitedMs + " ms");
+    }
+
+    // Sends one reservation as the test user and checks it went async instead of answering on the spot.
+    private MvcResult start() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("load", null));
+        try {
+            return mockMvc.perform(post("/api/bookings/reserve").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void complete(MvcResult result) throws Exception {
+        result.getAsyncResult(TimeUnit.MINUTES.toMillis(1));
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reservationId").value(1));
+    }
+
+    private CompletableFuture<ReservationDTO> slowReservation() {
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        return CompletableFuture.supplyAsync(() -> {
+            inFlight.decrementAndGet();
+            ReservationDTO reservation = new ReservationDTO();
+            reservation.setReservationId(1L);
+            return reservation;
+        }, CompletableFuture.delayedExecutor(RESERVATION_MS, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,120 @@
+package com.eventbooking.repository;
+
+import com.eventbooking.entity.Booking;
+import com.eventbooking.entity.BookingStatus;
+import com.eventbooking.entity.Event;
+import com.eventbooking.entity.User;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Inserts 1k and 10k bookings one statement per row, as IDENTITY ids forced, and through saveAll with
+ * pooled sequence ids and hibernate.jdbc.batch_size, printing both timings. Skipped when Docker is not available.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.com.eventbooking=INFO",
+        "logging.level.org.springframework.web=INFO",
+        "logging.level.org.springframework.security=INFO",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        "booking.outbox.enabled=false"})
+@Testcontainers(disabledWithoutDocker = true)
+class BookingBatchInsertTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void batchedInsertsUseFewStatements() {
+        Event event = eventRepository.save(new Event("Batch insert", "Batch insert test", LocalDate.now().plusDays(30),
+                LocalTime.of(20, 0), "Test Hall", new BigDecimal("10.00"), 1_000_000, "TEST"));
+        User user = new User("batch", "batch@example.com", "secret");
+        user.setFirstName("Batch");
+        User savedUser = userRepository.save(user);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int rows : new int[]{1_000, 10_000}) {
+            long started = System.nanoTime();
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < rows; i++) {
+                    jdbcTemplate.update("INSERT INTO bookings (id, user_id, event_id, ticket_count, total_amount, status, " +
+                                    "booking_date, is_reserved) VALUES (nextval('bookings_id_seq'), ?, ?, 1, 10.00, 'CONFIRMED', ?, false)",
+                            savedUser.getId(), event.getId(), Timestamp.valueOf(LocalDateTime.now()));
+                }
+            });
+            long rowByRowMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+            statistics.clear();
+            started = System.nanoTime();
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Booking> bookings = new ArrayList<>(rows);
+                for (int i = 0; i < rows; i++) {
+                    Booking booking = new Booking(savedUser, event, 1);
+                    booking.setIsReserved(false);
+                    booking.setStatus(BookingStatus.CONFIRMED);
+                    booking.setReservationExpiry(null);
+                    bookings.add(booking);
+                }
+                bookingRepository.saveAll(bookings);
+            });
+            long batchedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+            System.out.println(rows + " bookings: row by row " + rowByRowMs + " ms, batched " + batchedMs + " ms ("
+                    + statistics.getPrepareStatementCount() + " statements prepared)");
+            // One INSERT per 50 rows plus one nextval per 50 ids, not one round trip per row.
+            assertTrue(statistics.getPrepareStatementCount() <= rows / 10, "statements: " + statistics.getPrepareStatementCount());
+        }
+
+        assertEquals(22_000L, bookingRepository.count());
+    }
+}
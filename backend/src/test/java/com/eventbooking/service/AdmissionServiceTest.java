@@ -0,0 +1,85 @@
+package com.eventbooking.service;
+
+import com.eventbooking.dto.AdmissionStatusDTO;
+import com.eventbooking.exception.AdmissionRequiredException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionServiceTest {
+
+    private static final Long EVENT_ID = 1L;
+    private static final Long USER_ID = 7L;
+
+    private final AdmissionService admissionService = new AdmissionService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(admissionService, "graceSeconds", 120);
+        admissionService.configure(EVENT_ID, true, 1000);
+    }
+
+    @Test
+    void concurrentReservationsWithOneTokenAdmitOnlyOne() throws Exception {
+        Long token = admittedToken();
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch startLine = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+        List<Future<?>> attempts = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                attempts.add(pool.submit(() -> {
+                    startLine.await();
+                    try {
+                        admissionService.admit(EVENT_ID, USER_ID, token);
+                        admitted.incrementAndGet();
+                    } catch (AdmissionRequiredException e) {
+                        // Lost the race for the token.
+                    }
+                    return null;
+                }));
+            }
+            startLine.countDown();
+            for (Future<?> attempt : attempts) {
+                attempt.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, admitted.get());
+    }
+
+    @Test
+    void restoredTokenCanBeUsedAgain() throws Exception {
+        Long token = admittedToken();
+        admissionService.admit(EVENT_ID, USER_ID, token);
+        assertThrows(AdmissionRequiredException.class, () -> admissionService.admit(EVENT_ID, USER_ID, token));
+
+        admissionService.restore(EVENT_ID, USER_ID, token);
+        assertDoesNotThrow(() -> admissionService.admit(EVENT_ID, USER_ID, token));
+    }
+
+    private Long admittedToken() throws InterruptedException {
+        AdmissionStatusDTO joined = admissionService.join(EVENT_ID, USER_ID);
+        Thread.sleep(20);
+        admissionService.advance();
+        assertTrue(admissionService.getStatus(EVENT_ID, joined.getToken()).isAdmitted());
+        return joined.getToken();
+    }
+}
@@ -0,0 +1,147 @@
+package com.eventbooking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AvailabilityStreamServiceTest {
+
+    private static final Long EVENT_ID = 1L;
+
+    private final InventoryService inventoryService = mock(InventoryService.class);
+    private final ExecutorService streamExecutor = Executors.newFixedThreadPool(2);
+    private final CountDownLatch unblock = new CountDownLatch(1);
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+
+    // The first subscriber's sends block until the test ends; everyone else's go straight through.
+    private final AvailabilityStreamService service = new AvailabilityStreamService() {
+        @Override
+        SseEmitter createEmitter() {
+            RecordingEmitter emitter = new RecordingEmitter(emitters.isEmpty());
+            emitters.add(emitter);
+            return emitter;
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "inventoryService", inventoryService);
+        ReflectionTestUtils.setField(service, "streamExecutor", streamExecutor);
+        ReflectionTestUtils.setField(service, "maxSubscribers", 100);
+        ReflectionTestUtils.setField(service, "timeoutMs", 60000L);
+        ReflectionTestUtils.setField(service, "sendTimeoutMs", 200L);
+        // Every read sees one ticket fewer, so each flush has something new to send.
+        AtomicInteger reservable = new AtomicInteger(101);
+        when(inventoryService.getReservableTickets(EVENT_ID)).thenAnswer(invocation -> reservable.decrementAndGet());
+    }
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        streamExecutor.shutdownNow();
+    }
+
+    @Test
+    void slowSubscriberNeitherBlocksTheSchedulerNorDelaysOthers() throws Exception {
+        service.subscribe(EVENT_ID);
+        service.subscribe(EVENT_ID);
+        RecordingEmitter slow = emitters.get(0);
+        RecordingEmitter fast = emitters.get(1);
+        assertTrue(slow.started.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 3; i++) {
+            service.onAvailabilityChanged(new AvailabilityChangedEvent(EVENT_ID, 1, AvailabilityChangedEvent.Reason.RESERVED));
+            long started = System.nanoTime();
+            service.flush();
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 100, "flush waited on a send");
+            int expected = 2 + i;
+            waitFor(() -> fast.sent.size() == expected, "fast subscriber received the update");
+        }
+        // Snapshot plus three updates for the fast client; the slow one is still stuck in its first send.
+        assertEquals(4, fast.sent.size());
+        assertEquals(0, slow.sent.size());
+
+        Thread.sleep(300);
+        long started = System.nanoTime();
+        service.heartbeat();
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 100, "heartbeat waited on a send");
+
+        assertEquals(1L, service.getStats().get("slowDropped"));
+        assertEquals(1, service.getStats().get("subscribers"));
+        waitFor(() -> fast.sent.size() == 5, "fast subscriber received the heartbeat");
+    }
+
+    @Test
+    void pendingUpdatesCoalesceToTheLatestCount() throws Exception {
+        service.subscribe(EVENT_ID);
+        RecordingEmitter slow = emitters.get(0);
+        assertTrue(slow.started.await(5, TimeUnit.SECONDS));
+
+        // Three updates while the first send is blocked leave a single pending message, the latest one.
+        for (int i = 0; i < 3; i++) {
+            service.onAvailabilityChanged(new AvailabilityChangedEvent(EVENT_ID, 1, AvailabilityChangedEvent.Reason.RESERVED));
+            service.flush();
+            long expected = i + 1;
+            waitFor(() -> (long) service.getStats().get("flushes") == expected, "flush ran");
+        }
+        unblock.countDown();
+
+        waitFor(() -> slow.sent.size() == 2, "slow subscriber caught up");
+        Thread.sleep(100);
+        assertEquals(2, slow.sent.size());
+        assertTrue(slow.sent.get(0).contains("\"reservable\":100"), slow.sent.get(0));
+        assertTrue(slow.sent.get(1).contains("\"reservable\":97"), slow.sent.get(1));
+    }
+
+    private static void waitFor(BooleanSupplier condition, String what) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out waiting until " + what);
+            Thread.sleep(5);
+        }
+    }
+
+    private class RecordingEmitter extends SseEmitter {
+        private final boolean blocking;
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+
+        RecordingEmitter(boolean blocking) {
+            this.blocking = blocking;
+        }
+
+        @Override
+        public void send(Set<ResponseBodyEmitter.DataWithMediaType> items) {
+            started.countDown();
+            if (blocking) {
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            StringBuilder text = new StringBuilder();
+            items.forEach(item -> text.append(item.getData()));
+            sent.add(text.toString());
+        }
+    }
+}
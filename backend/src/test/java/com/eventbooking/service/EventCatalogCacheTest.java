@@ -0,0 +1,94 @@
+package com.eventbooking.service;
+
+import com.eventbooking.dto.EventDTO;
+import com.eventbooking.entity.Event;
+import com.eventbooking.repository.EventRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventCatalogCacheTest {
+
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final EventCatalogCache cache = new EventCatalogCache();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "eventRepository", eventRepository);
+        ReflectionTestUtils.setField(cache, "eventMapper", new EventMapper());
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxSize", 100);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+        when(eventRepository.findAvailableEvents()).thenReturn(List.of(event(1L, 100, 0L), event(2L, 50, 0L)));
+    }
+
+    @Test
+    void listingETagIsKnownWithoutTheDatabaseUntilSomethingChanges() {
+        assertNull(cache.getListingETag());
+        String eTag = cache.getAllEventsTagged().getETag();
+
+        assertEquals(eTag, cache.getListingETag());
+        assertEquals(eTag, cache.getListingETag());
+        verify(eventRepository, times(1)).findAvailableEvents();
+
+        cache.invalidate(2L);
+        assertNull(cache.getListingETag());
+        assertNotEquals(eTag, cache.getAllEventsTagged().getETag());
+        verify(eventRepository, times(2)).findAvailableEvents();
+    }
+
+    @Test
+    void availabilityChangeRefreshesOnlyTheTouchedEntry() {
+        String eTag = cache.getAllEventsTagged().getETag();
+        when(eventRepository.findAllById(anyIterable())).thenReturn(List.of(event(1L, 96, 1L)));
+
+        cache.onCatalogChanged(new CatalogChangedEvent(1L, true));
+        assertNull(cache.getListingETag());
+
+        EventCatalogCache.CachedValue<List<EventDTO>> refreshed = cache.getAllEventsTagged();
+        assertEquals(96, refreshed.getValue().get(0).getAvailableTickets());
+        assertEquals(50, refreshed.getValue().get(1).getAvailableTickets());
+        assertNotEquals(eTag, refreshed.getETag());
+        assertEquals(refreshed.getETag(), cache.getListingETag());
+
+        verify(eventRepository, times(1)).findAvailableEvents();
+        verify(eventRepository, times(1)).findAllById(List.of(1L));
+    }
+
+    @Test
+    void catalogChangeReloadsTheWholeListing() {
+        cache.getAllEventsTagged();
+        cache.onCatalogChanged(new CatalogChangedEvent(1L));
+
+        assertNull(cache.getListingETag());
+        cache.getAllEventsTagged();
+        assertNotNull(cache.getListingETag());
+        verify(eventRepository, times(2)).findAvailableEvents();
+        verify(eventRepository, never()).findAllById(anyIterable());
+    }
+
+    private static Event event(Long id, int tickets, Long version) {
+        Event event = new Event("Event " + id, "Catalog test", LocalDate.now().plusDays(id), LocalTime.of(20, 0),
+                "Hall", new BigDecimal("10.00"), tickets, "TEST");
+        event.setId(id);
+        event.setVersion(version);
+        return event;
+    }
+}
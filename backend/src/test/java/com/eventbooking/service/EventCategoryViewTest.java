@@ -0,0 +1,127 @@
+package com.eventbooking.service;
+
+import com.eventbooking.dto.CategoryPageDTO;
+import com.eventbooking.dto.EventDTO;
+import com.eventbooking.entity.Event;
+import com.eventbooking.repository.EventRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventCategoryViewTest {
+
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final EventCatalogCache eventCatalogCache = mock(EventCatalogCache.class);
+    private final EventCategoryView view = new EventCategoryView();
+    private final List<Event> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(view, "eventRepository", eventRepository);
+        ReflectionTestUtils.setField(view, "eventCatalogCache", eventCatalogCache);
+        when(eventRepository.findAll()).thenReturn(events);
+        when(eventCatalogCache.getEvent(anyLong())).thenAnswer(invocation -> {
+            EventDTO dto = new EventDTO();
+            dto.setId(invocation.getArgument(0));
+            return Optional.of(dto);
+        });
+    }
+
+    @Test
+    void eventsWithoutACategoryAreNotListed() {
+        events.add(event(1L, 1, null));
+        events.add(event(2L, 1, "  "));
+        events.add(event(3L, 1, "Music"));
+        view.rebuild();
+        view.index(event(4L, 2, null));
+
+        CategoryPageDTO page = view.getPage("music", null, 10);
+        assertEquals(List.of(3L), ids(page));
+        assertEquals(1, page.getCounts().size());
+        assertEquals(1, page.getCounts().get("Music"));
+        assertEquals(0, view.getPage("", null, 10).getTotal());
+    }
+
+    @Test
+    void cursorPagesCoverEveryUpcomingEventOnce() {
+        events.add(event(100L, -3, "Music"));
+        for (long id = 1; id <= 25; id++) {
+            // Pairs share a day and time, so the id decides their order.
+            events.add(event(id, (int) (id / 2), "Music"));
+        }
+        view.rebuild();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CategoryPageDTO page = view.getPage("Music", cursor, 10);
+            assertEquals(25, page.getTotal());
+            seen.addAll(ids(page));
+            cursor = page.getNextCursor();
+            assertEquals(cursor != null, page.isHasMore());
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        List<Long> expected = new ArrayList<>();
+        for (long id = 1; id <= 25; id++) {
+            expected.add(id);
+        }
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void cursorStaysPutWhenEarlierEventsAreAdded() {
+        for (long id = 1; id <= 4; id++) {
+            events.add(event(id, (int) id, "Music"));
+        }
+        view.rebuild();
+
+        CategoryPageDTO first = view.getPage("Music", null, 2);
+        assertEquals(List.of(1L, 2L), ids(first));
+        view.index(event(9L, 0, "Music"));
+
+        CategoryPageDTO second = view.getPage("Music", first.getNextCursor(), 2);
+        assertEquals(List.of(3L, 4L), ids(second));
+        assertFalse(second.isHasMore());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void rejectsAMalformedCursor() {
+        events.add(event(1L, 1, "Music"));
+        view.rebuild();
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> view.getPage("Music", "not-a-cursor", 10));
+        assertTrue(error.getMessage().contains("cursor"));
+    }
+
+    private static List<Long> ids(CategoryPageDTO page) {
+        return page.getEvents().stream().map(EventDTO::getId).toList();
+    }
+
+    private static Event event(Long id, int daysAhead, String category) {
+        Event event = new Event("Event " + id, "Category test", LocalDate.now().plusDays(daysAhead), LocalTime.of(20, 0),
+                "Hall", new BigDecimal("10.00"), 100, category);
+        event.setId(id);
+        return event;
+    }
+}
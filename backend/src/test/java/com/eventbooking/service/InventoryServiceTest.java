@@ -0,0 +1,100 @@
+package com.eventbooking.service;
+
+import com.eventbooking.entity.Event;
+import com.eventbooking.repository.EventRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InventoryServiceTest {
+
+    private static final Long EVENT_ID = 1L;
+
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final InventoryService inventoryService = new InventoryService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(inventoryService, "eventRepository", eventRepository);
+        ReflectionTestUtils.setField(inventoryService, "eventPublisher", mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(inventoryService, "journal", mock(ReservationJournal.class));
+        ReflectionTestUtils.setField(inventoryService, "reservationMode", "memory");
+
+        Event event = new Event("Sold out", "Waitlist test", LocalDate.now().plusDays(10), LocalTime.of(20, 0),
+                "Hall", new BigDecimal("10.00"), 10, "TEST");
+        when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(event));
+    }
+
+    @Test
+    void releasedTicketsAreSetAsideForTheHeadOfTheWaitlist() {
+        assertTrue(inventoryService.tryReserve(EVENT_ID, 10));
+        inventoryService.setWaitlistDemand(EVENT_ID, 3);
+
+        inventoryService.release(EVENT_ID, 5);
+
+        // Three go to the waitlist head, only the other two are open to direct reservations.
+        assertEquals(2, inventoryService.getReservableTickets(EVENT_ID));
+        assertFalse(inventoryService.tryReserve(EVENT_ID, 3));
+        assertTrue(inventoryService.tryReserve(EVENT_ID, 2));
+        assertEquals(3, inventoryService.getWaitlistReservableTickets(EVENT_ID));
+        assertTrue(inventoryService.tryReserveForWaitlist(EVENT_ID, 3));
+        assertEquals(0, inventoryService.getWaitlistReservableTickets(EVENT_ID));
+    }
+
+    @Test
+    void setAsideAccumulatesAcrossReleasesUpToTheDemand() {
+        assertTrue(inventoryService.tryReserve(EVENT_ID, 10));
+        inventoryService.setWaitlistDemand(EVENT_ID, 4);
+
+        inventoryService.heldTicketsReleased(EVENT_ID, 2);
+        inventoryService.heldTicketsReleased(EVENT_ID, 1);
+        assertEquals(0, inventoryService.getReservableTickets(EVENT_ID));
+        assertFalse(inventoryService.tryReserveForWaitlist(EVENT_ID, 4));
+
+        inventoryService.restock(EVENT_ID, 3);
+        assertEquals(2, inventoryService.getReservableTickets(EVENT_ID));
+        assertTrue(inventoryService.tryReserveForWaitlist(EVENT_ID, 4));
+        assertEquals(2, inventoryService.getReservableTickets(EVENT_ID));
+    }
+
+    @Test
+    void droppedDemandReleasesTheSetAsideTickets() {
+        assertTrue(inventoryService.tryReserve(EVENT_ID, 10));
+        inventoryService.setWaitlistDemand(EVENT_ID, 4);
+        inventoryService.release(EVENT_ID, 4);
+        assertEquals(0, inventoryService.getReservableTickets(EVENT_ID));
+
+        inventoryService.setWaitlistDemand(EVENT_ID, 1);
+        assertEquals(3, inventoryService.getReservableTickets(EVENT_ID));
+
+        inventoryService.setWaitlistDemand(EVENT_ID, 0);
+        assertEquals(4, inventoryService.getReservableTickets(EVENT_ID));
+    }
+
+    @Test
+    void reconciliationDoesNotTreatSetAsideTicketsAsDrift() {
+        assertTrue(inventoryService.tryReserve(EVENT_ID, 10));
+        inventoryService.setWaitlistDemand(EVENT_ID, 2);
+        inventoryService.release(EVENT_ID, 2);
+
+        // The table has 8 held tickets: the set-aside pair is only held in memory.
+        when(eventRepository.findAllTicketCounts()).thenReturn(List.<Object[]>of(new Object[]{EVENT_ID, 10, 8}));
+        assertEquals(0, inventoryService.reconcile().getEventsDrifted());
+        assertEquals(0, inventoryService.reconcile().getEventsDrifted());
+        assertEquals(0, inventoryService.getReservableTickets(EVENT_ID));
+    }
+}
@@ -0,0 +1,61 @@
+package com.eventbooking.service;
+
+import com.eventbooking.exception.TooManyRequestsException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoadShedderTest {
+
+    private static final Long EVENT_ID = 1L;
+
+    private final LoadShedder loadShedder = new LoadShedder();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(loadShedder, "enabled", true);
+        ReflectionTestUtils.setField(loadShedder, "maxInFlight", 64);
+        ReflectionTestUtils.setField(loadShedder, "maxWaitMs", 100L);
+    }
+
+    @Test
+    void measuredWaitIsNotMultipliedByTheRequestsInFlight() {
+        // Forty requests queued, each measured at 50 ms from submission to start: under the 100 ms limit.
+        for (int i = 0; i < 40; i++) {
+            loadShedder.enter(EVENT_ID);
+        }
+        for (int i = 0; i < 20; i++) {
+            loadShedder.recordLockWait(EVENT_ID, TimeUnit.MILLISECONDS.toNanos(50));
+        }
+        assertDoesNotThrow(() -> loadShedder.enter(EVENT_ID));
+    }
+
+    @Test
+    void shedsOnceTheMeasuredWaitExceedsTheLimit() {
+        loadShedder.enter(EVENT_ID);
+        for (int i = 0; i < 20; i++) {
+            loadShedder.recordLockWait(EVENT_ID, TimeUnit.MILLISECONDS.toNanos(1500));
+        }
+
+        TooManyRequestsException shed = assertThrows(TooManyRequestsException.class, () -> loadShedder.enter(EVENT_ID));
+        assertEquals(2, shed.getRetryAfterSeconds());
+        assertEquals(1L, loadShedder.getStats().get("shed"));
+    }
+
+    @Test
+    void shedsAboveTheInFlightLimit() {
+        for (int i = 0; i < 64; i++) {
+            loadShedder.enter(EVENT_ID);
+        }
+        assertThrows(TooManyRequestsException.class, () -> loadShedder.enter(EVENT_ID));
+        loadShedder.exit(EVENT_ID);
+        assertDoesNotThrow(() -> loadShedder.enter(EVENT_ID));
+    }
+}
@@ -0,0 +1,194 @@
+package com.eventbooking.service;
+
+import com.eventbooking.EventBookingApplication;
+import com.eventbooking.entity.Booking;
+import com.eventbooking.entity.BookingStatus;
+import com.eventbooking.entity.Event;
+import com.eventbooking.entity.User;
+import com.eventbooking.repository.BookingRepository;
+import com.eventbooking.repository.EventRepository;
+import com.eventbooking.repository.UserRepository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two application instances in database reservation mode sharing one Postgres: concurrent holds, sales and
+ * releases from both must never sell more tickets than the event has, and a booking cancelled on both at
+ * once must be restocked exactly once. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class MultiInstanceReservationTest {
+
+    private static final int THREADS_PER_INSTANCE = 8;
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static ConfigurableApplicationContext first;
+    private static ConfigurableApplicationContext second;
+
+    @BeforeAll
+    static void startInstances() {
+        first = start(1);
+        second = start(2);
+    }
+
+    @AfterAll
+    static void stopInstances() {
+        if (second != null) {
+            second.close();
+        }
+        if (first != null) {
+            first.close();
+        }
+    }
+
+    @Test
+    void concurrentHoldsAcrossInstancesNeverOversell() throws Exception {
+        int capacity = 50;
+        Long eventId = first.getBean(EventRepository.class).save(event(capacity)).getId();
+        AtomicInteger sold = new AtomicInteger();
+
+        // Hold one ticket at a time and then either sell or release it, from both instances at once.
+        hammer(eventId, 200, (events, id) -> {
+            if (events.reserveHeldTickets(id, 1, 0) == 0) {
+                return;
+            }
+            if (ThreadLocalRandom.current().nextBoolean()) {
+                if (events.sellHeldTickets(id, 1) == 1) {
+                    sold.incrementAndGet();
+                }
+            } else {
+                events.releaseHeldTickets(id, 1);
+            }
+        });
+
+        int[] counters = counters(eventId);
+        assertTrue(sold.get() <= capacity, "sold " + sold.get() + " of " + capacity);
+        assertEquals(capacity - sold.get(), counters[0]);
+        assertEquals(0, counters[1]);
+
+        // Holds only: exactly the remaining tickets can be taken, however the attempts interleave.
+        AtomicInteger held = new AtomicInteger();
+        hammer(eventId, 50, (events, id) -> held.addAndGet(events.reserveHeldTickets(id, 1, 0)));
+
+        counters = counters(eventId);
+        assertEquals(counters[0], held.get());
+        assertEquals(counters[0], counters[1]);
+    }
+
+    @Test
+    void doubleCancelAcrossInstancesRestocksOnce() throws Exception {
+        EventRepository events = first.getBean(EventRepository.class);
+        Event event = events.save(event(8));
+
+        User user = new User("cancel-" + System.nanoTime(), "cancel" + System.nanoTime() + "@example.com", "secret");
+        user.setFirstName("Cancel");
+        user = first.getBean(UserRepository.class).save(user);
+
+        Booking booking = new Booking(user, event, 2);
+        booking.setIsReserved(false);
+        booking.setStatus(BookingStatus.CONFIRMED);
+        booking.setReservationExpiry(null);
+        Long bookingId = first.getBean(BookingRepository.class).save(booking).getId();
+
+        List<CompletableFuture<Void>> cancels = List.of(
+                first.getBean(BookingService.class).cancelBooking(bookingId),
+                second.getBean(BookingService.class).cancelBooking(bookingId));
+        int succeeded = 0;
+        for (CompletableFuture<Void> cancel : cancels) {
+            try {
+                cancel.get(30, TimeUnit.SECONDS);
+                succeeded++;
+            } catch (Exception e) {
+                // The losing instance finds the booking already cancelled.
+            }
+        }
+
+        assertEquals(1, succeeded);
+        assertEquals(10, counters(event.getId())[0]);
+    }
+
+    private interface Attempt {
+        void run(EventRepository events, Long eventId);
+    }
+
+    private static void hammer(Long eventId, int attemptsPerThread, Attempt attempt) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2 * THREADS_PER_INSTANCE);
+        CountDownLatch startLine = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (ConfigurableApplicationContext instance : List.of(first, second)) {
+                EventRepository events = instance.getBean(EventRepository.class);
+                for (int t = 0; t < THREADS_PER_INSTANCE; t++) {
+                    workers.add(pool.submit(() -> {
+                        startLine.await();
+                        for (int i = 0; i < attemptsPerThread; i++) {
+                            attempt.run(events, eventId);
+                        }
+                        return null;
+                    }));
+                }
+            }
+            startLine.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // {available_tickets, held_tickets} as committed in the database.
+    private static int[] counters(Long eventId) {
+        return first.getBean(JdbcTemplate.class).queryForObject(
+                "SELECT available_tickets, held_tickets FROM events WHERE id = ?",
+                (rs, row) -> new int[]{rs.getInt(1), rs.getInt(2)}, eventId);
+    }
+
+    private static Event event(int tickets) {
+        return new Event("Load test " + System.nanoTime(), "Concurrency test event", LocalDate.now().plusDays(30),
+                LocalTime.of(20, 0), "Test Hall", new BigDecimal("10.00"), tickets, "TEST");
+    }
+
+    private static ConfigurableApplicationContext start(int nodeId) {
+        return new SpringApplicationBuilder(EventBookingApplication.class)
+                .properties(
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.jpa.show-sql=false",
+                        "logging.level.com.eventbooking=INFO",
+                        "logging.level.org.springframework.web=INFO",
+                        "logging.level.org.springframework.security=INFO",
+                        "server.port=0",
+                        "booking.reservation.mode=database",
+                        "booking.reference.node-id=" + nodeId)
+                .run();
+    }
+}
@@ -0,0 +1,118 @@
+package com.eventbooking.service;
+
+import com.eventbooking.entity.OutboxMessage;
+import com.eventbooking.repository.OutboxRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxServiceTest {
+
+    private final OutboxRepository outboxRepository = mock(OutboxRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final OutboxSink logSink = sink("log");
+    private final OutboxSink eventsSink = sink("events");
+    private final OutboxService outboxService = new OutboxService();
+    private final OutboxMessage message = new OutboxMessage(OutboxService.BOOKING_CONFIRMED, 7L, "{}");
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(outboxService, "outboxRepository", outboxRepository);
+        ReflectionTestUtils.setField(outboxService, "sinks", List.of(logSink, eventsSink));
+        ReflectionTestUtils.setField(outboxService, "transactionTemplate", new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(outboxService, "enabled", true);
+        ReflectionTestUtils.setField(outboxService, "enabledSinks", Set.of("log", "events"));
+        ReflectionTestUtils.setField(outboxService, "batchSize", 100);
+        ReflectionTestUtils.setField(outboxService, "maxBatchesPerPoll", 10);
+        ReflectionTestUtils.setField(outboxService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(outboxService, "claimLeaseSeconds", 60L);
+
+        message.setId(1L);
+        message.setCreatedAt(Instant.now());
+        message.setNextAttemptAt(message.getCreatedAt());
+        // Behaves like the claim query: only pending rows come back.
+        when(outboxRepository.claimBatch(any(), anyInt())).thenAnswer(invocation ->
+                message.getDispatchedAt() == null && message.getFailedAt() == null ? List.of(message) : List.of());
+        when(outboxRepository.findAllById(anyIterable())).thenReturn(List.of(message));
+    }
+
+    @Test
+    void onlyTheSinkThatFailedIsRetried() {
+        doThrow(new RuntimeException("listener down")).doNothing().when(eventsSink).deliver(message);
+
+        outboxService.dispatch();
+        assertEquals("log", message.getDeliveredSinks());
+        assertEquals(1, message.getAttempts());
+        assertEquals("listener down", message.getLastError());
+        assertNull(message.getDispatchedAt());
+        assertTrue(message.getNextAttemptAt().isAfter(Instant.now()));
+
+        outboxService.dispatch();
+        assertEquals("log,events", message.getDeliveredSinks());
+        assertNotNull(message.getDispatchedAt());
+        assertNull(message.getLastError());
+        verify(logSink, times(1)).deliver(message);
+        verify(eventsSink, times(2)).deliver(message);
+    }
+
+    @Test
+    void messageIsMarkedFailedAfterMaxAttempts() {
+        doThrow(new RuntimeException("listener down")).when(eventsSink).deliver(message);
+
+        for (int i = 0; i < 4; i++) {
+            outboxService.dispatch();
+        }
+
+        assertEquals(3, message.getAttempts());
+        assertNotNull(message.getFailedAt());
+        assertNull(message.getNextAttemptAt());
+        assertNull(message.getDispatchedAt());
+        assertEquals("log", message.getDeliveredSinks());
+        verify(eventsSink, times(3)).deliver(message);
+        verify(logSink, times(1)).deliver(message);
+    }
+
+    @Test
+    void sinksRunBetweenTheClaimAndOutcomeTransactions() {
+        doThrow(new RuntimeException("checked")).when(logSink).deliver(message);
+        outboxService.dispatch();
+
+        // Claim commits, sinks run with no transaction open, then the outcome commits.
+        InOrder order = inOrder(transactionManager, outboxRepository, logSink);
+        order.verify(outboxRepository).claimBatch(any(), anyInt());
+        order.verify(transactionManager).commit(any());
+        order.verify(logSink).deliver(message);
+        order.verify(outboxRepository).findAllById(anyIterable());
+        order.verify(transactionManager).commit(any());
+        verify(eventsSink, never()).deliver(message);
+    }
+
+    private static OutboxSink sink(String name) {
+        OutboxSink sink = mock(OutboxSink.class);
+        when(sink.getName()).thenReturn(name);
+        return sink;
+    }
+}
@@ -0,0 +1,160 @@
+package com.eventbooking.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReservationJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void restartRecoversSnapshotPlusTail() {
+        ReservationJournal journal = journal();
+        journal.start();
+        journal.append(ReservationJournal.Type.SEED, 1L, 100, 0);
+        journal.append(ReservationJournal.Type.SEED, 2L, 50, 5);
+        journal.append(ReservationJournal.Type.RESERVE, 1L, 10, 0);
+        journal.snapshot();
+
+        // Tail after the snapshot; the instance then dies without a final snapshot.
+        journal.append(ReservationJournal.Type.CONFIRM, 1L, 4, 0);
+        journal.append(ReservationJournal.Type.RELEASE, 1L, 2, 0);
+        journal.append(ReservationJournal.Type.RESTOCK, 2L, 3, 0);
+        journal.append(ReservationJournal.Type.SEED, 3L, 7, 1);
+        journal.append(ReservationJournal.Type.EVICT, 3L, 0, 0);
+
+        Map<Long, int[]> recovered = journal().start();
+
+        assertEquals(2, recovered.size());
+        assertArrayEquals(new int[]{96, 4}, recovered.get(1L));
+        assertArrayEquals(new int[]{53, 5}, recovered.get(2L));
+    }
+
+    @Test
+    void recoveryIsRepeatableAcrossSeveralRestarts() {
+        ReservationJournal journal = journal();
+        journal.start();
+        journal.append(ReservationJournal.Type.SEED, 1L, 10, 0);
+        journal.append(ReservationJournal.Type.RESERVE, 1L, 3, 0);
+
+        ReservationJournal second = journal();
+        assertArrayEquals(new int[]{10, 3}, second.start().get(1L));
+        second.append(ReservationJournal.Type.RESERVE, 1L, 2, 0);
+
+        assertArrayEquals(new int[]{10, 5}, journal().start().get(1L));
+    }
+
+    @Test
+    void replayStopsAtATornRecord() throws Exception {
+        ReservationJournal journal = journal();
+        journal.start();
+        journal.append(ReservationJournal.Type.SEED, 1L, 100, 0);
+        journal.append(ReservationJournal.Type.RESERVE, 1L, 10, 0);
+        journal.append(ReservationJournal.Type.SEED, 1L, 80, 20);
+        journal.append(ReservationJournal.Type.RESERVE, 1L, 5, 0);
+
+        // The third record got its sequence number on disk but not its body.
+        try (FileChannel channel = FileChannel.open(segments().get(0), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            for (int i = 2 * 40 + 8; i < 3 * 40; i++) {
+                buffer.put(i, (byte) 0);
+            }
+            buffer.force();
+        }
+
+        assertArrayEquals(new int[]{100, 10}, journal().start().get(1L));
+    }
+
+    @Test
+    void failedAppendDeletesTheJournal() throws Exception {
+        ReservationJournal journal = journal();
+        journal.start();
+        journal.append(ReservationJournal.Type.SEED, 1L, 100, 0);
+        journal.snapshot();
+        assertTrue(Files.exists(dir.resolve("snapshot.bin")));
+
+        // Occupy the next segment's file name so it cannot be created.
+        long recordsPerSegment = 1024 * 1024 / 40;
+        Files.createDirectory(dir.resolve(String.format("journal-%020d.seg", recordsPerSegment + 1)));
+        for (int i = 0; i < recordsPerSegment; i++) {
+            journal.append(ReservationJournal.Type.RESERVE, 1L, 0, 0);
+        }
+
+        assertFalse(Files.exists(dir.resolve("snapshot.bin")));
+        assertTrue(segments().isEmpty());
+        assertTrue(journal().start().isEmpty());
+    }
+
+    @Test
+    void concurrentAppendsAreAllRecovered() throws Exception {
+        ReservationJournal journal = journal();
+        journal.start();
+        int events = 8;
+        int perThread = 20_000;
+        for (long eventId = 1; eventId <= events; eventId++) {
+            journal.append(ReservationJournal.Type.SEED, eventId, 1_000_000, 0);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(events);
+        List<Future<?>> writers = new ArrayList<>();
+        try {
+            for (int t = 0; t < events; t++) {
+                writers.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        journal.append(ReservationJournal.Type.RESERVE, 1L + i % events, 1, 0);
+                        if (i % 5_000 == 0) {
+                            journal.snapshot();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Map<Long, int[]> recovered = journal().start();
+        for (long eventId = 1; eventId <= events; eventId++) {
+            assertArrayEquals(new int[]{1_000_000, perThread}, recovered.get(eventId));
+        }
+    }
+
+    private ReservationJournal journal() {
+        ReservationJournal journal = new ReservationJournal();
+        ReflectionTestUtils.setField(journal, "enabled", true);
+        ReflectionTestUtils.setField(journal, "directory", dir.toString());
+        ReflectionTestUtils.setField(journal, "segmentMb", 1);
+        return journal;
+    }
+
+    private List<Path> segments() throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".seg") && Files.isRegularFile(path))
+                    .sorted()
+                    .toList();
+        }
+    }
+}
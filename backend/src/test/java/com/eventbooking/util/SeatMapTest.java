@@ -0,0 +1,176 @@
+package com.eventbooking.util;
+
+import com.eventbooking.entity.SeatSection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeatMapTest {
+
+    // 60,000 seats; neither row length is a multiple of 64, so rows straddle bitset words.
+    private static final int SEATS = 100 * 300 + 150 * 200;
+
+    private static SeatMap stadium() {
+        return new SeatMap(List.of(
+                new SeatSection(1L, "FLOOR", 100, 300, 0),
+                new SeatSection(1L, "BALCONY", 150, 200, 1)));
+    }
+
+    @Test
+    void labelsRoundTripAcrossTheWholeLayout() {
+        SeatMap seatMap = stadium();
+        assertEquals(SEATS, seatMap.getSeatCount());
+        assertEquals(250, seatMap.getRowCount());
+        assertEquals(0, seatMap.parseLabel("FLOOR-1-1"));
+        assertEquals(30000, seatMap.parseLabel("BALCONY-1-1"));
+        assertEquals(SEATS - 1, seatMap.parseLabel("BALCONY-150-200"));
+        for (int seat = 0; seat < SEATS; seat += 997) {
+            assertEquals(seat, seatMap.parseLabel(seatMap.label(seat)));
+        }
+        assertThrows(RuntimeException.class, () -> seatMap.parseLabel("FLOOR-101-1"));
+        assertThrows(RuntimeException.class, () -> seatMap.parseLabel("BALCONY-1-201"));
+        assertThrows(RuntimeException.class, () -> seatMap.parseLabel("BOX-1-1"));
+    }
+
+    @Test
+    void bestAvailableFillsFrontRowsFromTheCentreUntilSoldOut() {
+        SeatMap seatMap = stadium();
+        assertArrayEquals(new int[]{148, 149, 150, 151}, seatMap.holdBestAvailable(4));
+
+        int held = 4;
+        int[] seats;
+        while ((seats = seatMap.holdBestAvailable(4)) != null) {
+            for (int i = 1; i < seats.length; i++) {
+                assertEquals(seats[0] + i, seats[i]);
+            }
+            held += 4;
+        }
+        // Floor rows split into two 148-seat halves around the centre group and fill exactly; balcony
+        // halves are 98 seats, so each leaves a pair at the aisle end that no group of four can use.
+        assertEquals(SEATS - 150 * 4, held);
+        assertEquals(150 * 4, seatMap.getFreeSeats());
+        for (int row = 0; row < seatMap.getRowCount(); row++) {
+            assertFalse(seatMap.getRowState(row).contains("...."), "row " + seatMap.getRowLabel(row) + " still fits four");
+        }
+        assertFalse(seatMap.getRowState(0).contains("."));
+        assertEquals("..", seatMap.getRowState(249).substring(0, 2));
+    }
+
+    @Test
+    void bestAvailableFindsARunAcrossAWordBoundary() {
+        SeatMap seatMap = stadium();
+        // Row FLOOR-2 spans seats 300..599; leave seats 380..389 free, which cross the word starting at 384.
+        int[] blocked = new int[290];
+        int n = 0;
+        for (int seat = 300; seat < 600; seat++) {
+            if (seat < 380 || seat >= 390) {
+                blocked[n++] = seat;
+            }
+        }
+        fillRow(seatMap, 0);
+        assertTrue(seatMap.hold(blocked));
+
+        int[] seats = seatMap.holdBestAvailable(10);
+        assertEquals(380, seats[0]);
+        assertEquals(389, seats[9]);
+        assertFalse(seatMap.getRowState(1).contains("."));
+        assertEquals(SEATS - 600, seatMap.getFreeSeats());
+    }
+
+    @Test
+    void heldSeatsConflictUntilReleasedAndSoldSeatsUntilRestocked() {
+        SeatMap seatMap = stadium();
+        int[] pair = {seatMap.parseLabel("BALCONY-75-100"), seatMap.parseLabel("BALCONY-75-101")};
+        int[] overlapping = {seatMap.parseLabel("BALCONY-75-101"), seatMap.parseLabel("BALCONY-75-102")};
+
+        assertTrue(seatMap.hold(pair));
+        assertFalse(seatMap.hold(overlapping));
+        // The failed hold left its first, free seat untouched.
+        assertEquals(SEATS - 2, seatMap.getFreeSeats());
+
+        seatMap.release(pair);
+        assertTrue(seatMap.hold(overlapping));
+        seatMap.confirm(overlapping);
+        assertEquals(SEATS - 2, seatMap.getFreeSeats());
+        assertFalse(seatMap.hold(new int[]{overlapping[0]}));
+
+        // Releasing sold seats is a no-op; only a restock frees them.
+        seatMap.release(overlapping);
+        assertEquals(SEATS - 2, seatMap.getFreeSeats());
+        seatMap.restock(overlapping);
+        assertEquals(SEATS, seatMap.getFreeSeats());
+        assertTrue(seatMap.hold(overlapping));
+        assertFalse(seatMap.hold(new int[]{SEATS}));
+        assertFalse(seatMap.hold(new int[]{-1}));
+    }
+
+    @Test
+    void concurrentHoldsOnTheSameSeatsHaveOneWinner() throws Exception {
+        SeatMap seatMap = stadium();
+        int threads = 8;
+        int rounds = 2000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    int won = 0;
+                    for (int round = 0; round < rounds; round++) {
+                        // Every thread goes after the same overlapping block of three seats each round.
+                        int first = round * 30;
+                        if (seatMap.hold(new int[]{first, first + 1, first + 2})) {
+                            won++;
+                        }
+                    }
+                    return won;
+                }));
+            }
+            start.countDown();
+
+            int won = 0;
+            for (Future<Integer> result : results) {
+                won += result.get(1, TimeUnit.MINUTES);
+            }
+            assertEquals(rounds, won);
+            assertEquals(SEATS - 3 * rounds, seatMap.getFreeSeats());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void holdBestAvailableRejectsGroupsThatCannotFit() {
+        SeatMap seatMap = stadium();
+        assertNull(seatMap.holdBestAvailable(0));
+        assertNull(seatMap.holdBestAvailable(301));
+        int[] wide = seatMap.holdBestAvailable(300);
+        assertEquals(0, wide[0]);
+        // The next group goes to the centre of the second row.
+        assertEquals(325, seatMap.holdBestAvailable(250)[0]);
+        assertEquals(SEATS - 550, seatMap.getFreeSeats());
+    }
+
+    private static void fillRow(SeatMap seatMap, int row) {
+        int[] seats = new int[300];
+        for (int i = 0; i < seats.length; i++) {
+            seats[i] = row * 300 + i;
+        }
+        seatMap.markSold(seats);
+    }
+}
@@ -0,0 +1,141 @@
+package com.eventbooking.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnowflakeReferenceGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 500_000;
+    private static final long EPOCH = 1704067200000L;
+    private static final long START = EPOCH + 1_000_000L;
+
+    private final ExecutorService caller = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        caller.shutdownNow();
+    }
+
+    @Test
+    void idsAreUniqueAcrossThreadsAndNodes() throws Exception {
+        // Two nodes, four threads each, generating at full speed so the per-millisecond sequence overflows.
+        SnowflakeReferenceGenerator[] nodes = {
+                new SnowflakeReferenceGenerator(1, "database"),
+                new SnowflakeReferenceGenerator(2, "database")};
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<long[]>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                SnowflakeReferenceGenerator generator = nodes[t % nodes.length];
+                results.add(pool.submit(() -> {
+                    long[] ids = new long[IDS_PER_THREAD];
+                    for (int i = 0; i < ids.length; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return ids;
+                }));
+            }
+
+            long[] all = new long[THREADS * IDS_PER_THREAD];
+            int offset = 0;
+            for (Future<long[]> result : results) {
+                long[] ids = result.get(2, TimeUnit.MINUTES);
+                for (int i = 1; i < ids.length; i++) {
+                    assertTrue(ids[i] > ids[i - 1], "ids from one thread must increase");
+                }
+                System.arraycopy(ids, 0, all, offset, ids.length);
+                offset += ids.length;
+            }
+
+            Arrays.sort(all);
+            for (int i = 1; i < all.length; i++) {
+                assertNotEquals(all[i - 1], all[i], "duplicate id " + all[i]);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void exhaustedSequenceWaitsForTheNextMillisecond() throws Exception {
+        AtomicLong clock = new AtomicLong(START);
+        SnowflakeReferenceGenerator generator = withClock(clock);
+        for (int i = 0; i < 4096; i++) {
+            assertEquals(START, timestamp(generator.nextId()));
+        }
+
+        Future<Long> overflow = caller.submit(generator::nextId);
+        Thread.sleep(50);
+        assertFalse(overflow.isDone(), "an id was borrowed from the next millisecond");
+
+        clock.set(START + 1);
+        long id = overflow.get(5, TimeUnit.SECONDS);
+        assertEquals(START + 1, timestamp(id));
+        assertEquals(0, id & 4095);
+    }
+
+    @Test
+    void clockSteppingBackWaitsUntilItCatchesUp() throws Exception {
+        AtomicLong clock = new AtomicLong(START);
+        SnowflakeReferenceGenerator generator = withClock(clock);
+        long before = generator.nextId();
+
+        clock.set(START - 20);
+        Future<Long> next = caller.submit(generator::nextId);
+        Thread.sleep(50);
+        assertFalse(next.isDone(), "an id was issued ahead of the clock");
+
+        clock.set(START + 3);
+        long after = next.get(5, TimeUnit.SECONDS);
+        assertEquals(START + 3, timestamp(after));
+        assertTrue(after > before);
+    }
+
+    @Test
+    void largeClockStepBackFailsInsteadOfStalling() {
+        AtomicLong clock = new AtomicLong(START);
+        SnowflakeReferenceGenerator generator = withClock(clock);
+        generator.nextId();
+
+        clock.set(START - SnowflakeReferenceGenerator.MAX_CLOCK_BACK_MS - 1);
+        assertThrows(RuntimeException.class, generator::nextId);
+        clock.set(START + 1);
+        assertEquals(START + 1, timestamp(generator.nextId()));
+    }
+
+    @Test
+    void nodeIdIsRequiredInDatabaseMode() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeReferenceGenerator(-1, "database"));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeReferenceGenerator(1024, "memory"));
+        new SnowflakeReferenceGenerator(-1, "memory");
+    }
+
+    private static SnowflakeReferenceGenerator withClock(AtomicLong clock) {
+        return new SnowflakeReferenceGenerator(1, "database") {
+            @Override
+            long currentTimeMillis() {
+                return clock.get();
+            }
+        };
+    }
+
+    private static long timestamp(long id) {
+        return (id >>> 22) + EPOCH;
+    }
+}
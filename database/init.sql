@@ -67,3 +67,74 @@ ADD COLUMN reservation_expiry TIMESTAMP,
 ADD COLUMN is_reserved BOOLEAN DEFAULT false;
 
 UPDATE bookings SET is_reserved = false WHERE is_reserved IS NULL;
+
+ALTER TABLE events
+ADD COLUMN IF NOT EXISTS held_tickets INTEGER NOT NULL DEFAULT 0,
+ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0;
+
+UPDATE events e SET held_tickets = COALESCE((
+    SELECT SUM(b.ticket_count) FROM bookings b
+    WHERE b.event_id = e.id AND b.is_reserved = true AND b.status = 'PENDING'), 0);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_pending_expiry ON bookings(reservation_expiry)
+WHERE is_reserved = true AND status = 'PENDING';
+
+CREATE TABLE IF NOT EXISTS seat_sections (
+    id BIGSERIAL PRIMARY KEY,
+    event_id BIGINT NOT NULL REFERENCES events(id) ON DELETE CASCADE,
+    name VARCHAR(255) NOT NULL,
+    row_count INTEGER NOT NULL,
+    seats_per_row INTEGER NOT NULL,
+    sort_order INTEGER NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_seat_sections_event_id ON seat_sections(event_id, sort_order);
+
+ALTER TABLE bookings
+ADD COLUMN IF NOT EXISTS seat_numbers TEXT;
+
+-- Entities allocate ids from these sequences 50 at a time (pooled optimiser), so each nextval must
+-- advance by 50. Run before starting a backend built with sequence ids.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE events_id_seq INCREMENT BY 50;
+ALTER SEQUENCE bookings_id_seq INCREMENT BY 50;
+ALTER SEQUENCE seat_sections_id_seq INCREMENT BY 50;
+
+SELECT setval('users_id_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 50);
+SELECT setval('events_id_seq', COALESCE((SELECT MAX(id) FROM events), 0) + 50);
+SELECT setval('bookings_id_seq', COALESCE((SELECT MAX(id) FROM bookings), 0) + 50);
+SELECT setval('seat_sections_id_seq', COALESCE((SELECT MAX(id) FROM seat_sections), 0) + 50);
+
+-- Side effects of booking changes, written in the booking transaction and delivered by the outbox dispatcher
+CREATE TABLE IF NOT EXISTS outbox_messages (
+    id BIGSERIAL PRIMARY KEY,
+    message_type VARCHAR(64) NOT NULL,
+    booking_id BIGINT NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    next_attempt_at TIMESTAMP WITH TIME ZONE,
+    dispatched_at TIMESTAMP WITH TIME ZONE,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(255)
+);
+
+ALTER SEQUENCE outbox_messages_id_seq INCREMENT BY 50;
+
+CREATE INDEX IF NOT EXISTS idx_outbox_pending ON outbox_messages(id) WHERE dispatched_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_outbox_dispatched_at ON outbox_messages(dispatched_at) WHERE dispatched_at IS NOT NULL;
+
+-- Keyset pagination of the event listing, overall and per category
+CREATE INDEX IF NOT EXISTS idx_events_date_time_id ON events(event_date, event_time, id);
+CREATE INDEX IF NOT EXISTS idx_events_category_date_time_id ON events(category, event_date, event_time, id);
+
+-- Covered by the composite indexes above
+DROP INDEX IF EXISTS idx_events_date;
+DROP INDEX IF EXISTS idx_events_category;
+
+-- Outbox: per-sink delivery tracking and a terminal failed state after booking.outbox.max-attempts
+ALTER TABLE outbox_messages
+ADD COLUMN IF NOT EXISTS delivered_sinks TEXT,
+ADD COLUMN IF NOT EXISTS failed_at TIMESTAMP WITH TIME ZONE;
+
+DROP INDEX IF EXISTS idx_outbox_pending;
+CREATE INDEX IF NOT EXISTS idx_outbox_pending ON outbox_messages(id) WHERE dispatched_at IS NULL AND failed_at IS NULL;
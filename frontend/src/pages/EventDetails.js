@@ -1,7 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { Link, useParams, useNavigate } from 'react-router-dom';
 import { useAuth } from '../context/AuthContext';
-import { getEventById, reserveTickets } from '../services/api';
+import { getEventById, reserveTickets, subscribeToAvailability } from '../services/api';
 import { getEventImageWithFallback } from '../utils/eventImages';
 
 const EventDetails = () => {
@@ -29,6 +29,12 @@ const EventDetails = () => {
     fetchEvent();
   }, [id]);
 
+  useEffect(() => {
+    return subscribeToAvailability(id, ({ reservable }) => {
+      setEvent((current) => current && { ...current, availableTickets: reservable });
+    });
+  }, [id]);
+
   const handleReserveTickets = async () => {
     if (!token) {
       alert('Please login to book tickets');
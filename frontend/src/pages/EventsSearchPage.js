@@ -1,11 +1,11 @@
 import React, { useState, useEffect } from 'react';
 import { useLocation, useNavigate } from 'react-router-dom';
-import { getAllEvents } from '../services/api';
+import { getAllEvents, searchEvents } from '../services/api';
 import { getEventImageWithFallback } from '../utils/eventImages';
 
 const EventsSearchPage = () => {
   const [events, setEvents] = useState([]);
-  const [filteredEvents, setFilteredEvents] = useState([]);
+  const [total, setTotal] = useState(0);
   const [loading, setLoading] = useState(true);
   const location = useLocation();
   const navigate = useNavigate();
@@ -15,9 +15,17 @@ const EventsSearchPage = () => {
 
   useEffect(() => {
     const fetchEvents = async () => {
+      setLoading(true);
       try {
-        const response = await getAllEvents();
-        setEvents(response.data);
+        if (searchQuery) {
+          const response = await searchEvents(searchQuery);
+          setEvents(response.data.events);
+          setTotal(response.data.total);
+        } else {
+          const response = await getAllEvents();
+          setEvents(response.data);
+          setTotal(response.data.length);
+        }
       } catch (error) {
         console.error('Error fetching events:', error);
       } finally {
@@ -25,21 +33,7 @@ const EventsSearchPage = () => {
       }
     };
     fetchEvents();
-  }, []);
-
-  useEffect(() => {
-    if (searchQuery) {
-      const filtered = events.filter(event => 
-        event.title.toLowerCase().includes(searchQuery.toLowerCase()) ||
-        event.description.toLowerCase().includes(searchQuery.toLowerCase()) ||
-        event.venue.toLowerCase().includes(searchQuery.toLowerCase()) ||
-        event.category.toLowerCase().includes(searchQuery.toLowerCase())
-      );
-      setFilteredEvents(filtered);
-    } else {
-      setFilteredEvents(events);
-    }
-  }, [searchQuery, events]);
+  }, [searchQuery]);
 
   if (loading) return <div className="loading">Loading events...</div>;
 
@@ -51,11 +45,11 @@ const EventsSearchPage = () => {
             {searchQuery ? `Search Results for "${searchQuery}"` : 'All Events'}
           </h2>
           <p className="results-count">
-            {filteredEvents.length} event{filteredEvents.length !== 1 ? 's' : ''} found
+            {total} event{total !== 1 ? 's' : ''} found
           </p>
         </div>
 
-        {filteredEvents.length === 0 ? (
+        {events.length === 0 ? (
           <div className="no-results">
             <h3>No events found</h3>
             <p>Try searching with different keywords or browse all events.</p>
@@ -68,7 +62,7 @@ const EventsSearchPage = () => {
           </div>
         ) : (
           <div className="events-grid">
-            {filteredEvents.map(event => (
+            {events.map(event => (
               <div key={event.id} className="event-card">
                 <div className="event-image">
                   <img 
@@ -42,7 +42,14 @@ API.interceptors.response.use(
 
 export const getAllEvents = () => API.get('/events');
 export const getEventById = (id) => API.get(`/events/${id}`);
-export const getEventsByCategory = (category) => API.get(`/events/category/${category}`);
+export const getEventsByCategory = (category, cursor = null, size = 20) =>
+  API.get(`/events/category/${encodeURIComponent(category)}`, { params: { cursor, size } });
+export const subscribeToAvailability = (eventId, onChange) => {
+  const source = new EventSource(`${API.defaults.baseURL}/events/${eventId}/availability/stream`);
+  source.addEventListener('availability', (message) => onChange(JSON.parse(message.data)));
+  return () => source.close();
+};
+export const searchEvents = (query, limit = 50) => API.get('/events/search', { params: { q: query, limit } });
 
 export const loginUser = (credentials) => API.post('/auth/login', credentials);
 export const registerUser = (userData) => API.post('/auth/register', userData);